@@ -18,7 +18,8 @@ java {
     withJavadocJar()
 }
 
-subprojects {
+// 基准测试模块不发布
+configure(subprojects.filter { it.name != "mybatis-flex-reactor-benchmarks" }) {
     apply(plugin = "java")
     apply(plugin = "com.vanniktech.maven.publish")
 
@@ -0,0 +1,41 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "com.juxest"
+version = "0.2.2"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // 直接依赖当前源码，保证测试的是本次构建的实现
+    jmh(project(":mybatis-flex-reactor-core"))
+    jmh("com.mybatis-flex:mybatis-flex-core:1.9.5")
+    jmh("com.h2database:h2:2.2.224")
+    jmh("com.zaxxer:HikariCP:5.1.0")
+}
+
+jmh {
+    jmhVersion = "1.37"
+    // 固定迭代时长与堆大小，保证不同版本之间的结果可以直接对比
+    fork = 1
+    warmupIterations = 3
+    warmup = "5s"
+    iterations = 5
+    timeOnIteration = "5s"
+    jvmArgs = listOf("-Xms1g", "-Xmx1g")
+    resultFormat = "JSON"
+    // 结果文件带上版本号，例如与上一版本对比：比较 results-0.2.1.json 与 results-0.2.2.json
+    resultsFile = project.layout.buildDirectory.file("results/jmh/results-${project.version}.json")
+    // 通过 -PjmhIncludes=ExecutionModeBenchmark 只运行部分基准测试
+    if (project.hasProperty("jmhIncludes")) {
+        includes = listOf(project.property("jmhIncludes").toString())
+    }
+    // 通过 -PjmhProfilers=gc 查看分配速率
+    if (project.hasProperty("jmhProfilers")) {
+        profilers = project.property("jmhProfilers").toString().split(",")
+    }
+}
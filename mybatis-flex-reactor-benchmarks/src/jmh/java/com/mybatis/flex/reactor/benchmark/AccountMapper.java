@@ -0,0 +1,6 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import com.mybatisflex.core.BaseMapper;
+
+public interface AccountMapper extends BaseMapper<Account> {
+}
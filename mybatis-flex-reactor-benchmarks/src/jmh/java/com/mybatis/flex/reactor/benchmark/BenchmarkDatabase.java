@@ -0,0 +1,80 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 基准测试使用的内嵌 H2 数据库
+ * <p>
+ * MybatisFlexBootstrap 在同一个 JVM 中只能启动一次，JMH 会为每组参数单独 fork JVM，因此这里只需保证单次初始化
+ */
+public final class BenchmarkDatabase {
+
+    /**
+     * 连接池大小，同时也作为 JDBC 调度器的线程数 / 许可数
+     */
+    public static final int POOL_SIZE = 16;
+
+    private static HikariDataSource dataSource;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * 初始化数据库并写入指定数量的数据
+     *
+     * @param rows 初始数据行数
+     */
+    public static synchronized void start(int rows) throws SQLException {
+        if (dataSource != null) {
+            return;
+        }
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tb_account (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_name VARCHAR(100), age INT)");
+        }
+        insertRows(rows);
+
+        MybatisFlexBootstrap.getInstance()
+                .setDataSource(dataSource)
+                .addMapper(AccountMapper.class)
+                .start();
+    }
+
+    /**
+     * 清空数据表
+     */
+    public static void truncate() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE tb_account RESTART IDENTITY");
+        }
+    }
+
+    private static void insertRows(int rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO tb_account (user_name, age) VALUES (?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int i = 1; i <= rows; i++) {
+                statement.setString(1, "user-" + i);
+                statement.setInt(2, i % 100);
+                statement.addBatch();
+                if (i % 1000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import com.mybatis.flex.reactor.core.ReactorGlobalConfig;
+import com.mybatis.flex.reactor.core.scheduler.JdbcSchedulers;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平台线程（有界 boundedElastic）与虚拟线程两种执行模式的对比
+ * <p>
+ * 每次调用同时发起 concurrency 个 getById / list 订阅，连接池大小固定为 {@link BenchmarkDatabase#POOL_SIZE}。
+ * virtual 模式需要在 JDK 21+ 上运行
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutionModeBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"64", "1024"})
+    public int concurrency;
+
+    private Scheduler scheduler;
+
+    private Scheduler cursorScheduler;
+
+    private AccountService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start(ROWS);
+        // 排队上限需要容纳全部并发订阅，避免把拒绝计入结果
+        int queueSize = Math.max(concurrency, ReactorGlobalConfig.DEFAULT_JDBC_QUEUE_SIZE);
+        scheduler = "virtual".equals(mode) ?
+                JdbcSchedulers.newVirtual(BenchmarkDatabase.POOL_SIZE, queueSize) :
+                JdbcSchedulers.newBounded(BenchmarkDatabase.POOL_SIZE, queueSize);
+        cursorScheduler = "virtual".equals(mode) ?
+                JdbcSchedulers.newVirtual(BenchmarkDatabase.POOL_SIZE, queueSize, JdbcSchedulers.CURSOR_THREAD_NAME_PREFIX) :
+                JdbcSchedulers.newBounded(BenchmarkDatabase.POOL_SIZE, queueSize, JdbcSchedulers.CURSOR_THREAD_NAME_PREFIX);
+        service = new AccountService(scheduler, cursorScheduler);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.dispose();
+        cursorScheduler.dispose();
+    }
+
+    @Benchmark
+    public Long concurrentGetById() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> service.getById((long) (i % ROWS) + 1), concurrency)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long concurrentShortList() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> service.list(QueryWrapper.create().where("id > ?", i % ROWS).limit(10)), concurrency)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同并发调用方数量下 getById 与 getByIdBatched 的延迟分布（SampleTime 会给出 p50 / p99 等分位数）
+ * <p>
+ * 连接池与 JDBC 调度器大小固定为 {@link BenchmarkDatabase#POOL_SIZE}，并发数超过该值后可以观察排队带来的延迟
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetByIdLatencyBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private AccountService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start(ROWS);
+        service = new AccountService(null);
+    }
+
+    private Long randomId() {
+        return ThreadLocalRandom.current().nextLong(ROWS) + 1;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Account getById1() {
+        return service.getById(randomId()).block();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Account getById16() {
+        return service.getById(randomId()).block();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Account getById64() {
+        return service.getById(randomId()).block();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Account getByIdBatched64() {
+        return service.getByIdBatched(randomId()).block();
+    }
+}
@@ -0,0 +1,59 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import com.mybatisflex.core.query.QueryWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按块读取（listChunked）与逐条读取后缓冲（list().buffer(n)）的对比，结果单位为行/秒
+ * <p>
+ * 分配速率需要配合 GC 分析器查看：-PjmhIncludes=ListChunkedBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ListChunkedBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"100", "1000"})
+    public int chunkSize;
+
+    private AccountService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start(ROWS);
+        service = new AccountService(null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Long listBuffer() {
+        return service.list(QueryWrapper.create())
+                .buffer(chunkSize)
+                .map(List::size)
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Long listChunked() {
+        return service.listChunked(QueryWrapper.create(), chunkSize)
+                .map(List::size)
+                .reduce(0L, Long::sum)
+                .block();
+    }
+}
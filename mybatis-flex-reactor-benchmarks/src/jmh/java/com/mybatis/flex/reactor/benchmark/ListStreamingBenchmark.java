@@ -0,0 +1,77 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import com.mybatisflex.core.query.QueryWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * list() / listAs() 流式读取整表的吞吐量，结果单位为行/秒
+ * <p>
+ * 分配速率需要配合 GC 分析器查看：-PjmhIncludes=ListStreamingBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ListStreamingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"32", "256", "2048"})
+    public int prefetch;
+
+    private AccountService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start(ROWS);
+        service = new AccountService(null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Long list() {
+        return service.list(QueryWrapper.create(), prefetch).count().block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Long listAs() {
+        return service.listAs(QueryWrapper.create(), AccountView.class, prefetch).count().block();
+    }
+
+    /**
+     * listAs 使用的精简视图
+     */
+    public static class AccountView {
+
+        private Long id;
+
+        private String userName;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+    }
+}
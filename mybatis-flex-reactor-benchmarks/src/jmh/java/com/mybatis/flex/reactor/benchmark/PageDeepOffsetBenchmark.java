@@ -0,0 +1,62 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import com.mybatis.flex.reactor.core.wrapper.KeysetPage;
+import com.mybatisflex.core.paginate.Page;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同页码下 page()（LIMIT / OFFSET）与 pageAfter()（键集分页）读取一页数据的耗时
+ * <p>
+ * 初始数据的主键从 1 开始连续，因此第 n 页的键集起点即为 (n - 1) * PAGE_SIZE
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageDeepOffsetBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "100", "4000"})
+    public int pageNumber;
+
+    private AccountService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start(ROWS);
+        service = new AccountService(null);
+    }
+
+    @Benchmark
+    public List<Account> page() {
+        QueryWrapper query = QueryWrapper.create().orderBy(new QueryColumn("id").asc());
+        return service.page(new Page<>(pageNumber, PAGE_SIZE), query, false).collectList().block();
+    }
+
+    @Benchmark
+    public List<Account> pageWithTotal() {
+        QueryWrapper query = QueryWrapper.create().orderBy(new QueryColumn("id").asc());
+        return service.page(new Page<>(pageNumber, PAGE_SIZE), query, true).collectList().block();
+    }
+
+    @Benchmark
+    public KeysetPage<Account> pageAfter() {
+        long lastKey = (long) (pageNumber - 1) * PAGE_SIZE;
+        return service.pageAfter(lastKey == 0 ? null : lastKey, PAGE_SIZE, QueryWrapper.create()).block();
+    }
+}
@@ -0,0 +1,64 @@
+package com.mybatis.flex.reactor.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同 batchSize 下 saveBatch 的写入速度，结果单位为行/秒
+ * <p>
+ * collection 为一次性传入集合，publisher 为流式传入（按 batchSize 分批逐批提交）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SaveBatchSizeBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"10", "100", "1000", "5000"})
+    public int batchSize;
+
+    private AccountService service;
+
+    private List<Account> accounts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkDatabase.start(0);
+        service = new AccountService(null);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareRows() throws Exception {
+        BenchmarkDatabase.truncate();
+        accounts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            accounts.add(new Account("user-" + i, i % 100));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Long collection() {
+        return service.saveBatch(accounts, false, batchSize).count().block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Long publisher() {
+        return service.saveBatch(Flux.fromIterable(accounts), false, batchSize).count().block();
+    }
+}
@@ -15,4 +15,16 @@ dependencies {
     compileOnly("com.mybatis-flex:mybatis-flex-core:1.9.5")
     // reactor
     api("io.projectreactor:reactor-core:3.6.6")
+    // 监控（可选）
+    compileOnly("io.micrometer:micrometer-core:1.12.6")
+    // 测试
+    testImplementation("com.mybatis-flex:mybatis-flex-core:1.9.5")
+    testImplementation("com.h2database:h2:2.2.224")
+    testImplementation("com.zaxxer:HikariCP:5.1.0")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package com.mybatis.flex.reactor.core;
+
+import com.mybatis.flex.reactor.core.cursor.CursorOptions;
+import com.mybatis.flex.reactor.core.cursor.CursorStatementInterceptor;
+import com.mybatis.flex.reactor.core.metrics.ReactorInstrumentation;
+import com.mybatis.flex.reactor.core.scheduler.JdbcSchedulers;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 响应式扩展全局配置
+ *
+ * @author 林钟一六
+ */
+public class ReactorGlobalConfig {
+
+    /**
+     * 默认的游标预取数量
+     */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    /**
+     * 默认的 JDBC 调度器排队任务总数上限
+     */
+    public static final int DEFAULT_JDBC_QUEUE_SIZE = 10000;
+
+    /**
+     * 默认的单条语句最大参数数量（PostgreSQL 旧版驱动的上限，MySQL、Oracle 等均不低于该值）
+     */
+    public static final int DEFAULT_MAX_PARAMETERS_PER_STATEMENT = 32767;
+
+    private static final ReactorGlobalConfig DEFAULT_CONFIG = new ReactorGlobalConfig();
+
+    /**
+     * 游标流的预取数量（高水位），即最多从游标中预先读取多少条尚未被下游消费的数据
+     */
+    private volatile int defaultPrefetch = DEFAULT_PREFETCH;
+
+    /**
+     * JDBC 调度器最大线程数，小于 1 时自动从连接池中探测，探测失败则使用 Reactor 默认的 boundedElastic 大小
+     */
+    private volatile int jdbcPoolSize = -1;
+
+    /**
+     * JDBC 调度器排队任务总数上限（所有线程合计，虚拟线程模式下为等待许可的任务数），超出后任务会被拒绝
+     */
+    private volatile int jdbcQueueSize = DEFAULT_JDBC_QUEUE_SIZE;
+
+    /**
+     * 是否使用虚拟线程执行阻塞 JDBC 操作（需要 JDK 21+），此时 jdbcPoolSize 作为同时访问数据库的许可数量
+     */
+    private volatile boolean useVirtualThreads = false;
+
+    /**
+     * 单条语句最大参数数量，多值插入时据此限制每条语句包含的行数（如 SQL Server 需设置为 2100）
+     */
+    private volatile int maxParametersPerStatement = DEFAULT_MAX_PARAMETERS_PER_STATEMENT;
+
+    /**
+     * 游标查询默认的 JDBC 语句选项（fetch size 等），需要注册 {@link CursorStatementInterceptor} 后才会生效
+     */
+    private volatile CursorOptions cursorOptions = CursorOptions.NONE;
+
+    /**
+     * 操作监控，默认不进行监控
+     */
+    private volatile ReactorInstrumentation instrumentation = ReactorInstrumentation.NOOP;
+
+    /**
+     * 读操作使用的数据源 key（MyBatis-Flex 多数据源中从库的 key），为 null 时读写均使用主库
+     */
+    private volatile String readDataSourceKey;
+
+    /**
+     * 执行阻塞 JDBC 操作的调度器
+     */
+    private volatile Scheduler scheduler;
+
+    /**
+     * 读取游标的调度器
+     */
+    private volatile Scheduler cursorScheduler;
+
+    /**
+     * 获取默认的全局配置
+     *
+     * @return 全局配置
+     */
+    public static ReactorGlobalConfig getDefaultConfig() {
+        return DEFAULT_CONFIG;
+    }
+
+    public int getDefaultPrefetch() {
+        return defaultPrefetch;
+    }
+
+    public void setDefaultPrefetch(int defaultPrefetch) {
+        if (defaultPrefetch < 1) {
+            throw new IllegalArgumentException("defaultPrefetch must be greater than 0, but got " + defaultPrefetch);
+        }
+        this.defaultPrefetch = defaultPrefetch;
+    }
+
+    public int getJdbcPoolSize() {
+        return jdbcPoolSize;
+    }
+
+    /**
+     * 设置 JDBC 调度器最大线程数（需在调度器创建前设置）
+     *
+     * @param jdbcPoolSize 最大线程数，小于 1 时自动探测
+     */
+    public void setJdbcPoolSize(int jdbcPoolSize) {
+        this.jdbcPoolSize = jdbcPoolSize;
+    }
+
+    public int getJdbcQueueSize() {
+        return jdbcQueueSize;
+    }
+
+    /**
+     * 设置 JDBC 调度器排队任务总数上限（需在调度器创建前设置）
+     * <p>
+     * 有界调度器会将该上限平均分配到每个线程，因此单个线程的队列满了之后，即使其他线程仍有空位，提交到该线程的任务也会被拒绝
+     *
+     * @param jdbcQueueSize 所有线程合计的排队任务数上限
+     */
+    public void setJdbcQueueSize(int jdbcQueueSize) {
+        if (jdbcQueueSize < 1) {
+            throw new IllegalArgumentException("jdbcQueueSize must be greater than 0, but got " + jdbcQueueSize);
+        }
+        this.jdbcQueueSize = jdbcQueueSize;
+    }
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * 设置是否使用虚拟线程执行阻塞 JDBC 操作（需在调度器创建前设置）
+     *
+     * @param useVirtualThreads 是否使用虚拟线程，JDK 21 以下开启后创建调度器时会抛出异常
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    public int getMaxParametersPerStatement() {
+        return maxParametersPerStatement;
+    }
+
+    public void setMaxParametersPerStatement(int maxParametersPerStatement) {
+        if (maxParametersPerStatement < 1) {
+            throw new IllegalArgumentException("maxParametersPerStatement must be greater than 0, but got " + maxParametersPerStatement);
+        }
+        this.maxParametersPerStatement = maxParametersPerStatement;
+    }
+
+    public CursorOptions getCursorOptions() {
+        return cursorOptions;
+    }
+
+    public void setCursorOptions(CursorOptions cursorOptions) {
+        this.cursorOptions = cursorOptions == null ? CursorOptions.NONE : cursorOptions;
+    }
+
+    public ReactorInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * 设置操作监控（只对设置之后创建的 Mono / Flux 生效）
+     *
+     * @param instrumentation 监控实现，为 null 时不进行监控
+     * @see com.mybatis.flex.reactor.core.metrics.MicrometerInstrumentation
+     * @see com.mybatis.flex.reactor.core.metrics.JfrInstrumentation
+     */
+    public void setInstrumentation(ReactorInstrumentation instrumentation) {
+        this.instrumentation = instrumentation == null ? ReactorInstrumentation.NOOP : instrumentation;
+    }
+
+    public String getReadDataSourceKey() {
+        return readDataSourceKey;
+    }
+
+    /**
+     * 设置读操作使用的数据源，开启读写分离
+     *
+     * @param readDataSourceKey 从库的数据源 key，为 null 时读写均使用主库
+     * @see com.mybatis.flex.reactor.core.routing.ReadRouting
+     */
+    public void setReadDataSourceKey(String readDataSourceKey) {
+        this.readDataSourceKey = readDataSourceKey;
+    }
+
+    /**
+     * 获取执行阻塞 JDBC 操作的调度器（首次获取时按配置创建）
+     *
+     * @return 调度器
+     */
+    public Scheduler getScheduler() {
+        Scheduler scheduler = this.scheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = this.scheduler;
+                if (scheduler == null) {
+                    scheduler = useVirtualThreads ?
+                            JdbcSchedulers.newVirtual(resolvePoolSize(), jdbcQueueSize) :
+                            JdbcSchedulers.newBounded(resolvePoolSize(), jdbcQueueSize);
+                    this.scheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * 设置自定义的调度器，原有调度器不会被自动释放
+     *
+     * @param scheduler 调度器
+     */
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * 获取读取游标的调度器（首次获取时按配置创建）
+     * <p>
+     * 游标读取线程在下游没有需求时会挂起并占用连接，与普通操作共用调度器时，
+     * 流中嵌套的操作（如 {@code list().flatMap(e -> getById(...))}）可能因为线程全部被挂起的读取线程占满而永远得不到执行，
+     * 因此游标使用独立的调度器，线程数（或许可数）与任务队列上限与 {@link #getScheduler()} 相同
+     *
+     * @return 调度器
+     */
+    public Scheduler getCursorScheduler() {
+        Scheduler scheduler = this.cursorScheduler;
+        if (scheduler == null) {
+            synchronized (this) {
+                scheduler = this.cursorScheduler;
+                if (scheduler == null) {
+                    scheduler = useVirtualThreads ?
+                            JdbcSchedulers.newVirtual(resolvePoolSize(), jdbcQueueSize, JdbcSchedulers.CURSOR_THREAD_NAME_PREFIX) :
+                            JdbcSchedulers.newBounded(resolvePoolSize(), jdbcQueueSize, JdbcSchedulers.CURSOR_THREAD_NAME_PREFIX);
+                    this.cursorScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * 设置自定义的游标调度器，原有调度器不会被自动释放
+     * <p>
+     * 不要与 {@link #setScheduler(Scheduler)} 设置为同一个有界调度器，否则流中嵌套的操作可能无法执行
+     *
+     * @param cursorScheduler 调度器
+     */
+    public void setCursorScheduler(Scheduler cursorScheduler) {
+        this.cursorScheduler = cursorScheduler;
+    }
+
+    private int resolvePoolSize() {
+        if (jdbcPoolSize > 0) {
+            return jdbcPoolSize;
+        }
+        int detected = JdbcSchedulers.detectPoolSize();
+        return detected > 0 ? detected : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+    }
+}
@@ -1,28 +1,53 @@
 package com.mybatis.flex.reactor.core;
 
+import com.mybatis.flex.reactor.core.batch.AdaptiveBatchSizer;
+import com.mybatis.flex.reactor.core.cursor.CursorOptions;
+import com.mybatis.flex.reactor.core.cursor.CursorStatementInterceptor;
+import com.mybatis.flex.reactor.core.loader.IdBatchLoader;
+import com.mybatis.flex.reactor.core.metrics.ReactorInstrumentation;
+import com.mybatis.flex.reactor.core.metrics.ReactorInstrumentations;
+import com.mybatis.flex.reactor.core.routing.ReadRouting;
+import com.mybatis.flex.reactor.core.session.ReactorSession;
+import com.mybatis.flex.reactor.core.utils.EntityUtils;
+import com.mybatis.flex.reactor.core.utils.PartitionUtils;
 import com.mybatis.flex.reactor.core.utils.ReactorUtils;
+import com.mybatis.flex.reactor.core.wrapper.ChunkResult;
+import com.mybatis.flex.reactor.core.wrapper.KeysetPage;
 import com.mybatis.flex.reactor.core.wrapper.UpdateResult;
+import com.mybatis.flex.reactor.core.writer.WriteBehindSink;
 import com.mybatisflex.core.BaseMapper;
 import com.mybatisflex.core.FlexGlobalConfig;
 import com.mybatisflex.core.exception.FlexExceptions;
 import com.mybatisflex.core.paginate.Page;
 import com.mybatisflex.core.query.CPI;
 import com.mybatisflex.core.query.QueryChain;
+import com.mybatisflex.core.query.QueryColumn;
 import com.mybatisflex.core.query.QueryCondition;
+import com.mybatisflex.core.query.QueryMethods;
 import com.mybatisflex.core.query.QueryWrapper;
 import com.mybatisflex.core.row.Db;
 import com.mybatisflex.core.service.IService;
+import com.mybatisflex.core.table.IdInfo;
 import com.mybatisflex.core.update.UpdateChain;
 import com.mybatisflex.core.util.ClassUtil;
 import com.mybatisflex.core.util.MapperUtil;
 import com.mybatisflex.core.util.SqlUtil;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.ParallelFlux;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 
 /**
  * 响应式 Service 接口
@@ -49,6 +74,240 @@ public interface ReactorService<Entity> {
      */
     IService<Entity> getBlockService();
 
+    /**
+     * 获取执行阻塞 JDBC 操作的调度器，所有 Mapper 调用都会切换到该调度器上执行，避免阻塞订阅者线程（如 Netty 事件循环）
+     *
+     * @return 调度器，默认为全局配置的有界 JDBC 调度器
+     * @see ReactorGlobalConfig#getScheduler()
+     */
+    default Scheduler getScheduler() {
+        return ReactorGlobalConfig.getDefaultConfig().getScheduler();
+    }
+
+    /**
+     * 获取读取游标的调度器（list 等流式查询），读取线程会在下游没有需求时挂起，因此不能与 {@link #getScheduler()} 共用同一个有界调度器
+     *
+     * @return 调度器，默认为全局配置的游标调度器
+     * @see ReactorGlobalConfig#getCursorScheduler()
+     */
+    default Scheduler getCursorScheduler() {
+        return ReactorGlobalConfig.getDefaultConfig().getCursorScheduler();
+    }
+
+    /**
+     * 在 JDBC 调度器上执行一个阻塞操作
+     * <p>
+     * 调度器任务队列已满时，返回的 Mono 会以 {@link java.util.concurrent.RejectedExecutionException} 结束；
+     * 订阅链的 Context 中存在会话时，操作会被提交到会话线程上执行（共用会话的连接）
+     *
+     * @param task 阻塞操作（返回 null 时 Mono 为空）
+     * @param <T>  结果泛型
+     * @return 操作结果
+     * @see ReactorSession
+     */
+    default <T> Mono<T> execute(Callable<T> task) {
+        return Mono.deferContextual(context -> {
+            ReactorSession session = ReactorSession.current(context);
+            return session != null ?
+                    session.submit(task) :
+                    Mono.fromCallable(task).subscribeOn(getScheduler());
+        });
+    }
+
+    /**
+     * 在 JDBC 调度器上执行一个命名的阻塞操作，开启监控时会按操作名与实体类记录耗时、结果等信息
+     * <p>
+     * 该操作被视为写操作（在主库上执行，并触发 {@link ReadRouting#readYourWrites()}），只读操作请使用 {@link #executeRead(String, Callable)}
+     *
+     * @param operation 操作名（如 getById）
+     * @param task      阻塞操作（返回 null 时 Mono 为空）
+     * @param <T>       结果泛型
+     * @return 操作结果
+     * @see ReactorGlobalConfig#setInstrumentation(ReactorInstrumentation)
+     */
+    default <T> Mono<T> execute(String operation, Callable<T> task) {
+        Mono<T> write = Mono.deferContextual(context -> {
+            ReadRouting.markWritten(context);
+            return execute(task);
+        });
+        return ReactorInstrumentations.mono(write, operation, getMapper());
+    }
+
+    /**
+     * 执行一个命名的只读阻塞操作，开启读写分离时会在从库上执行
+     *
+     * @param operation 操作名（如 getById）
+     * @param task      只读阻塞操作（返回 null 时 Mono 为空）
+     * @param <T>       结果泛型
+     * @return 操作结果
+     * @see ReadRouting
+     */
+    default <T> Mono<T> executeRead(String operation, Callable<T> task) {
+        Mono<T> read = Mono.deferContextual(context -> {
+            String dataSourceKey = ReadRouting.resolve(context, getReadDataSourceKey());
+            return execute(dataSourceKey == null ? task : () -> ReadRouting.call(dataSourceKey, task));
+        });
+        return ReactorInstrumentations.mono(read, operation, getMapper());
+    }
+
+    /**
+     * 读操作使用的数据源，默认为全局配置 {@link ReactorGlobalConfig#getReadDataSourceKey()}，可以在 Service 中重写
+     *
+     * @return 从库的数据源 key，为 null 时使用主库
+     * @see ReadRouting
+     */
+    default String getReadDataSourceKey() {
+        return ReactorGlobalConfig.getDefaultConfig().getReadDataSourceKey();
+    }
+
+    /**
+     * 为游标读取指定 Service 的读数据源（游标在 {@link ReactorUtils} 中打开，需要通过 Context 传递）
+     *
+     * @param reads 游标数据流
+     * @param <T>   数据泛型
+     * @return 数据流
+     */
+    default <T> Flux<T> routeReads(Flux<T> reads) {
+        String dataSourceKey = getReadDataSourceKey();
+        if (dataSourceKey == null && ReactorGlobalConfig.getDefaultConfig().getReadDataSourceKey() == null) {
+            return reads;
+        }
+        return reads.contextWrite(ReadRouting.service(dataSourceKey));
+    }
+
+    /**
+     * 在一个会话中执行一组操作，其中所有 ReactorService 操作在同一个线程上串行执行并共用同一个连接
+     * <p>
+     * MyBatis-Flex 只能通过事务把连接绑定到线程上，因此会话总是在一个事务中执行：正常结束时提交，出错或取消时回滚
+     *
+     * @param work 需要执行的操作（请在其中组合 ReactorService 的方法）
+     * @param <T>  结果泛型
+     * @return 操作结果
+     * @see ReactorSession
+     */
+    default <T> Mono<T> inSession(Mono<T> work) {
+        return ReactorSession.within(work, getScheduler());
+    }
+
+    /**
+     * 在一个会话中执行一组操作，其中所有 ReactorService 操作在同一个线程上串行执行并共用同一个连接
+     * <p>
+     * MyBatis-Flex 只能通过事务把连接绑定到线程上，因此会话总是在一个事务中执行：正常结束时提交，出错或取消时回滚
+     *
+     * @param work 需要执行的操作（请在其中组合 ReactorService 的方法）
+     * @param <T>  结果泛型
+     * @return 操作结果
+     * @see ReactorSession
+     */
+    default <T> Flux<T> inSession(Flux<T> work) {
+        return ReactorSession.within(work, getScheduler());
+    }
+
+    /**
+     * 逐批执行批量操作
+     * <p>
+     * 上游每发出一批数据，使用一个独立的 BATCH SqlSession 执行并提交，提交完成后再发出该批数据的结果；
+     * 同一时间只会执行一批，并且最多只会向上游预取一批，因此内存占用与批次大小相关，而与数据总量无关
+     *
+     * @param batches   数据批次流
+     * @param operation 对单条数据执行的操作，返回影响行数
+     * @return 返回一个 Flux，每一条记录该条数据是否执行成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> executeBatch(Publisher<? extends Collection<Entity>> batches,
+                                                     ToIntBiFunction<BaseMapper<Entity>, Entity> operation) {
+        return executeBatch(batches, 1, operation);
+    }
+
+    /**
+     * 并行地逐批执行批量操作
+     * <p>
+     * 每一批数据使用一个独立的 BATCH SqlSession（独立的连接与事务）执行并提交，最多同时执行 parallelism 批，
+     * 各批次的结果按提交完成的先后顺序合并发出。某一批失败只会回滚该批，已提交的批次不受影响
+     *
+     * @param batches     数据批次流
+     * @param parallelism 最多同时执行的批次数（同时占用的连接数），小于等于 1 时逐批顺序执行
+     * @param operation   对单条数据执行的操作，返回影响行数
+     * @return 返回一个 Flux，每一条记录该条数据是否执行成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> executeBatch(Publisher<? extends Collection<Entity>> batches, int parallelism,
+                                                     ToIntBiFunction<BaseMapper<Entity>, Entity> operation) {
+        Class<BaseMapper<Entity>> usefulClass = ClassUtil.getUsefulClass((Class<BaseMapper<Entity>>) getMapper().getClass());
+        Function<Collection<Entity>, Flux<UpdateResult<Entity>>> executor = batch ->
+                execute("executeBatch", () -> ReactorUtils.executeBatch(batch, batch.size(), usefulClass, operation))
+                        .doOnNext(results -> ReactorInstrumentations.batchFlushed("executeBatch", getMapper(), results.size()))
+                        .flatMapIterable(results -> results);
+        return parallelism <= 1 ?
+                Flux.from(batches).concatMap(executor, 1) :
+                Flux.from(batches).flatMap(executor, parallelism);
+    }
+
+    /**
+     * 将数据集合拆分为 parallelism 个分区并行执行批量操作
+     * <p>
+     * 每个分区使用一个独立的 BATCH SqlSession（独立的连接与事务）执行，分区内每 batchSize 条 flush 一次，
+     * 分区全部执行完成后提交并发出该分区的结果。事务以分区为单位：某个分区失败只会回滚该分区，其余分区不受影响
+     *
+     * @param entities    数据集合
+     * @param batchSize   分区内每次 flush 的记录数
+     * @param parallelism 分区数量（同时占用的连接数），小于等于 1 时整个集合在一个事务中执行
+     * @param operation   对单条数据执行的操作，返回影响行数
+     * @return 返回一个 Flux，每一条记录该条数据是否执行成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> executeBatch(Collection<Entity> entities, int batchSize, int parallelism,
+                                                     ToIntBiFunction<BaseMapper<Entity>, Entity> operation) {
+        Class<BaseMapper<Entity>> usefulClass = ClassUtil.getUsefulClass((Class<BaseMapper<Entity>>) getMapper().getClass());
+        if (parallelism <= 1 || entities.size() <= batchSize) {
+            return execute("executeBatch", () -> ReactorUtils.executeBatch(entities, batchSize, usefulClass, operation))
+                    .doOnNext(results -> ReactorInstrumentations.batchFlushed("executeBatch", getMapper(), results.size()))
+                    .flatMapIterable(results -> results);
+        }
+        List<Entity> all = entities instanceof List ? (List<Entity>) entities : new ArrayList<>(entities);
+        int partitionSize = (all.size() + parallelism - 1) / parallelism;
+        return Flux.range(0, (all.size() + partitionSize - 1) / partitionSize)
+                .map(i -> all.subList(i * partitionSize, Math.min((i + 1) * partitionSize, all.size())))
+                .flatMap(partition -> execute("executeBatch", () -> ReactorUtils.executeBatch(partition, batchSize, usefulClass, operation))
+                        .doOnNext(results -> ReactorInstrumentations.batchFlushed("executeBatch", getMapper(), results.size()))
+                        .flatMapIterable(results -> results), parallelism);
+    }
+
+    /**
+     * 使用自适应批次大小逐批执行批量操作
+     * <p>
+     * 每凑满 {@link AdaptiveBatchSizer#getCurrentSize()} 条数据执行并提交一批，并根据该批的耗时调整之后的批次大小。
+     * 每次订阅单独计数，同一时间只会执行一批（并行执行时各批耗时互相影响，无法用于调整批次大小）
+     *
+     * @param entities  数据流
+     * @param sizer     自适应批次大小（可以被多次调用共用，以保留已经学习到的批次大小）
+     * @param operation 对单条数据执行的操作，返回影响行数
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否执行成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> executeBatch(Publisher<Entity> entities, AdaptiveBatchSizer sizer,
+                                                     ToIntBiFunction<BaseMapper<Entity>, Entity> operation) {
+        Flux<List<Entity>> batches = Flux.defer(() -> {
+            int[] count = {0};
+            return Flux.from(entities).bufferUntil(entity -> {
+                if (++count[0] < sizer.getCurrentSize()) {
+                    return false;
+                }
+                count[0] = 0;
+                return true;
+            });
+        });
+        return batches.concatMap(batch -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            return executeBatch(Flux.just(batch), operation)
+                    .collectList()
+                    .doOnSuccess(results -> {
+                        sizer.recordSuccess(batch.size(), System.nanoTime() - start);
+                        ReactorInstrumentations.batchSizeAdapted("executeBatch", getMapper(), sizer);
+                    })
+                    .doOnError(e -> {
+                        sizer.recordFailure(System.nanoTime() - start);
+                        ReactorInstrumentations.batchSizeAdapted("executeBatch", getMapper(), sizer);
+                    });
+        }).flatMapIterable(results -> results), 1);
+    }
+
     /**
      * 保存实体类对象数据（忽略空值）
      *
@@ -67,11 +326,7 @@ public interface ReactorService<Entity> {
      * @return 是否保存成功
      */
     default Mono<Boolean> save(Entity entity, boolean ignoreNulls) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        SqlUtil.toBool(getMapper().insert(entity, ignoreNulls))
-                )
-        );
+        return execute("save", () -> SqlUtil.toBool(getMapper().insert(entity, ignoreNulls)));
     }
 
     /**
@@ -80,17 +335,25 @@ public interface ReactorService<Entity> {
      * @param entities    实体类对象集合
      * @param ignoreNulls 是否忽略空值
      * @param batchSize   每次批量保存的记录数
-     * @return 返回一个 Flux，每一条记录该条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
      */
     default Flux<UpdateResult<Entity>> saveBatch(Collection<Entity> entities, boolean ignoreNulls, int batchSize) {
-        Class<BaseMapper<Entity>> usefulClass = (Class<BaseMapper<Entity>>) ClassUtil.getUsefulClass(getMapper().getClass());
-        return Flux.create(emitter -> {
-            Db.executeBatch(entities, batchSize, usefulClass, (m, e) -> {
-                int rows = m.insert(e, ignoreNulls);
-                emitter.next(new UpdateResult<>(rows, e));
-            });
-            emitter.complete();
-        });
+        return executeBatch(entities, batchSize, 1, (m, e) -> m.insert(e, ignoreNulls));
+    }
+
+    /**
+     * 并行批量保存实体类对象数据
+     * <p>
+     * 集合被拆分为 parallelism 个分区，每个分区使用独立的连接与事务并行执行，事务以分区为单位（某个分区失败只会回滚该分区）
+     *
+     * @param entities    实体类对象集合
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   分区内每次 flush 的记录数
+     * @param parallelism 分区数量（同时占用的连接数）
+     * @return 返回一个 Flux，每个分区提交后发出该分区每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveBatch(Collection<Entity> entities, boolean ignoreNulls, int batchSize, int parallelism) {
+        return executeBatch(entities, batchSize, parallelism, (m, e) -> m.insert(e, ignoreNulls));
     }
 
     /**
@@ -98,12 +361,139 @@ public interface ReactorService<Entity> {
      *
      * @param entities    实体类对象集合
      * @param ignoreNulls 是否忽略空值
-     * @return 返回一个 Flux，每一条记录该条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
      */
     default Flux<UpdateResult<Entity>> saveBatch(Collection<Entity> entities, boolean ignoreNulls) {
         return saveBatch(entities, ignoreNulls, DEFAULT_BATCH_SIZE);
     }
 
+    /**
+     * 流式批量保存实体类对象数据（按 batchSize 分批，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批保存的记录数
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize) {
+        return executeBatch(Flux.from(entities).buffer(batchSize), (m, e) -> m.insert(e, ignoreNulls));
+    }
+
+    /**
+     * 流式并行批量保存实体类对象数据（按 batchSize 分批，每批使用独立的连接与事务，最多同时执行 parallelism 批）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批的记录数
+     * @param parallelism 最多同时执行的批次数（同时占用的连接数）
+     * @return 返回一个 Flux，按提交完成的顺序发出每批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize, int parallelism) {
+        return executeBatch(Flux.from(entities).buffer(batchSize), parallelism, (m, e) -> m.insert(e, ignoreNulls));
+    }
+
+    /**
+     * 流式批量保存实体类对象数据（攒满 batchSize 或等待超过 maxWait 时提交一批）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批保存的最大记录数
+     * @param maxWait     一批数据最长的等待时间
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize, Duration maxWait) {
+        return executeBatch(Flux.from(entities).bufferTimeout(batchSize, maxWait, true), (m, e) -> m.insert(e, ignoreNulls));
+    }
+
+    /**
+     * 流式批量保存实体类对象数据（根据每批的耗时自动调整批次大小，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param sizer       自适应批次大小
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @see #executeBatch(Publisher, AdaptiveBatchSizer, ToIntBiFunction)
+     */
+    default Flux<UpdateResult<Entity>> saveBatch(Publisher<Entity> entities, boolean ignoreNulls, AdaptiveBatchSizer sizer) {
+        return executeBatch(entities, sizer, (m, e) -> m.insert(e, ignoreNulls));
+    }
+
+    /**
+     * 流式批量保存实体类对象数据（按默认批次大小分批，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveBatch(Publisher<Entity> entities, boolean ignoreNulls) {
+        return saveBatch(entities, ignoreNulls, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 创建异步批量写入（write-behind）的构建器，多个调用方提交的数据会按数量 / 时间合并为 saveBatch 写入，
+     * 可以限制写入速度与队列容量，适合日志等允许延迟落库的大量写入
+     * <pre>{@code
+     * WriteBehindSink<Log> sink = logService.writeBehind()
+     *         .batchSize(500)
+     *         .flushInterval(Duration.ofMillis(200))
+     *         .maxRowsPerSecond(5000)
+     *         .build();
+     * sink.offer(log);
+     * }</pre>
+     * 使用完毕后需要调用 {@link WriteBehindSink#close()}，会将剩余数据全部写入
+     *
+     * @return 异步批量写入构建器
+     */
+    default WriteBehindSink.Builder<Entity> writeBehind() {
+        return WriteBehindSink.builder(this);
+    }
+
+    /**
+     * 使用多值插入语句（INSERT ... VALUES (...), (...)）批量保存实体类对象数据，整批在同一个事务中提交
+     * <p>
+     * 对于未开启 rewriteBatchedStatements 的 MySQL、PostgreSQL、H2 等数据库，通常比 JDBC 批处理更快。
+     * 每条语句包含的行数不会超过 batchSize，也不会让参数数量超过 {@link ReactorGlobalConfig#getMaxParametersPerStatement()}。
+     * 注意：多值插入会写入所有列（不支持忽略空值）
+     *
+     * @param entities  实体类对象集合
+     * @param batchSize 每条插入语句最多包含的记录数
+     * @return 返回一个 Flux，提交后发出每条插入语句的影响行数以及该语句包含的实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<List<Entity>>> saveBatchMultiValues(Collection<Entity> entities, int batchSize) {
+        return execute("saveBatchMultiValues", () -> Db.txWithResult(() -> {
+            int rowsPerStatement = EntityUtils.getMaxRowsPerStatement(EntityUtils.getTableInfo(getMapper()),
+                    ReactorGlobalConfig.getDefaultConfig().getMaxParametersPerStatement(), batchSize);
+            List<UpdateResult<List<Entity>>> results = new ArrayList<>();
+            List<Entity> all = entities instanceof List ? (List<Entity>) entities : new ArrayList<>(entities);
+            for (int from = 0; from < all.size(); from += rowsPerStatement) {
+                List<Entity> chunk = all.subList(from, Math.min(from + rowsPerStatement, all.size()));
+                results.add(new UpdateResult<>(getMapper().insertBatch(chunk), chunk));
+                ReactorInstrumentations.batchFlushed("saveBatchMultiValues", getMapper(), chunk.size());
+            }
+            return results;
+        })).flatMapIterable(results -> results);
+    }
+
+    /**
+     * 使用多值插入语句（INSERT ... VALUES (...), (...)）流式批量保存实体类对象数据，每条语句单独提交
+     * <p>
+     * 注意：多值插入会写入所有列（不支持忽略空值）
+     *
+     * @param entities  实体类对象流
+     * @param batchSize 每条插入语句最多包含的记录数（同样受最大参数数量限制）
+     * @return 返回一个 Flux，每条语句执行后发出其影响行数以及该语句包含的实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<List<Entity>>> saveBatchMultiValues(Publisher<Entity> entities, int batchSize) {
+        return Flux.defer(() -> {
+            int rowsPerStatement = EntityUtils.getMaxRowsPerStatement(EntityUtils.getTableInfo(getMapper()),
+                    ReactorGlobalConfig.getDefaultConfig().getMaxParametersPerStatement(), batchSize);
+            return Flux.from(entities)
+                    .buffer(rowsPerStatement)
+                    .concatMap(chunk -> execute("saveBatchMultiValues", () -> new UpdateResult<>(getMapper().insertBatch(chunk), chunk))
+                            .doOnNext(result -> ReactorInstrumentations.batchFlushed("saveBatchMultiValues", getMapper(), chunk.size())), 1);
+        });
+    }
+
     /**
      * 保存或更新实体类对象数据
      *
@@ -112,11 +502,7 @@ public interface ReactorService<Entity> {
      * @return 是否保存成功
      */
     default Mono<Boolean> saveOrUpdate(Entity entity, boolean ignoreNulls) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        SqlUtil.toBool(getMapper().insertOrUpdate(entity, ignoreNulls))
-                )
-        );
+        return execute("saveOrUpdate", () -> SqlUtil.toBool(getMapper().insertOrUpdate(entity, ignoreNulls)));
     }
 
     /**
@@ -135,17 +521,25 @@ public interface ReactorService<Entity> {
      * @param entities    实体类对象集合
      * @param ignoreNulls 是否忽略空值
      * @param batchSize   每次批量保存的记录数
-     * @return 返回一个 Flux，每一条记录该条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
      */
     default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Collection<Entity> entities, boolean ignoreNulls, int batchSize) {
-        Class<BaseMapper<Entity>> usefulClass = ClassUtil.getUsefulClass((Class<BaseMapper<Entity>>) getMapper().getClass());
-        return Flux.create(emitter -> {
-            Db.executeBatch(entities, batchSize, usefulClass, (m, e) -> {
-                int rows = m.insertOrUpdate(e, ignoreNulls);
-                emitter.next(new UpdateResult<>(rows, e));
-            });
-            emitter.complete();
-        });
+        return executeBatch(entities, batchSize, 1, (m, e) -> m.insertOrUpdate(e, ignoreNulls));
+    }
+
+    /**
+     * 并行批量保存或更新实体类对象数据
+     * <p>
+     * 集合被拆分为 parallelism 个分区，每个分区使用独立的连接与事务并行执行，事务以分区为单位（某个分区失败只会回滚该分区）
+     *
+     * @param entities    实体类对象集合
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   分区内每次 flush 的记录数
+     * @param parallelism 分区数量（同时占用的连接数）
+     * @return 返回一个 Flux，每个分区提交后发出该分区每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Collection<Entity> entities, boolean ignoreNulls, int batchSize, int parallelism) {
+        return executeBatch(entities, batchSize, parallelism, (m, e) -> m.insertOrUpdate(e, ignoreNulls));
     }
 
     /**
@@ -153,7 +547,7 @@ public interface ReactorService<Entity> {
      *
      * @param entities    实体类对象集合
      * @param ignoreNulls 是否忽略空值
-     * @return 返回一个 Flux，每一条记录该条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
      */
     default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Collection<Entity> entities, boolean ignoreNulls) {
         return saveOrUpdateBatch(entities, ignoreNulls, DEFAULT_BATCH_SIZE);
@@ -164,12 +558,73 @@ public interface ReactorService<Entity> {
      * 批量保存或更新实体类对象数据（忽略空值）
      *
      * @param entities 实体类对象集合
-     * @return 返回一个 Flux，每一条记录该条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
      */
     default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Collection<Entity> entities) {
         return saveOrUpdateBatch(entities, true, DEFAULT_BATCH_SIZE);
     }
 
+    /**
+     * 流式批量保存或更新实体类对象数据（按 batchSize 分批，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批保存的记录数
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize) {
+        return executeBatch(Flux.from(entities).buffer(batchSize), (m, e) -> m.insertOrUpdate(e, ignoreNulls));
+    }
+
+    /**
+     * 流式并行批量保存或更新实体类对象数据（按 batchSize 分批，每批使用独立的连接与事务，最多同时执行 parallelism 批）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批的记录数
+     * @param parallelism 最多同时执行的批次数（同时占用的连接数）
+     * @return 返回一个 Flux，按提交完成的顺序发出每批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize, int parallelism) {
+        return executeBatch(Flux.from(entities).buffer(batchSize), parallelism, (m, e) -> m.insertOrUpdate(e, ignoreNulls));
+    }
+
+    /**
+     * 流式批量保存或更新实体类对象数据（攒满 batchSize 或等待超过 maxWait 时提交一批）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批保存的最大记录数
+     * @param maxWait     一批数据最长的等待时间
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize, Duration maxWait) {
+        return executeBatch(Flux.from(entities).bufferTimeout(batchSize, maxWait, true), (m, e) -> m.insertOrUpdate(e, ignoreNulls));
+    }
+
+    /**
+     * 流式批量保存或更新实体类对象数据（根据每批的耗时自动调整批次大小，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param sizer       自适应批次大小
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     * @see #executeBatch(Publisher, AdaptiveBatchSizer, ToIntBiFunction)
+     */
+    default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Publisher<Entity> entities, boolean ignoreNulls, AdaptiveBatchSizer sizer) {
+        return executeBatch(entities, sizer, (m, e) -> m.insertOrUpdate(e, ignoreNulls));
+    }
+
+    /**
+     * 流式批量保存或更新实体类对象数据（忽略空值，按默认批次大小分批，每批单独提交）
+     *
+     * @param entities 实体类对象流
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否保存成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> saveOrUpdateBatch(Publisher<Entity> entities) {
+        return saveOrUpdateBatch(entities, true, DEFAULT_BATCH_SIZE);
+    }
+
     /**
      * 根据条件删除数据
      *
@@ -177,11 +632,87 @@ public interface ReactorService<Entity> {
      * @return 是否删除成功
      */
     default Mono<Boolean> remove(QueryWrapper query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        SqlUtil.toBool(getMapper().deleteByQuery(query))
-                )
-        );
+        return execute("remove", () -> SqlUtil.toBool(getMapper().deleteByQuery(query)));
+    }
+
+    /**
+     * 按主键范围分块删除满足条件的数据，每块是一条独立的 DELETE 语句（自动提交），避免单条语句长时间持有大量行锁
+     *
+     * @param query     条件（不能包含 limit）
+     * @param chunkSize 每块最多删除的行数
+     * @return 依次发出每一块的执行结果
+     * @see #executeInChunks(String, QueryWrapper, Object, int, Duration, ToIntBiFunction)
+     */
+    default Flux<ChunkResult> removeInChunks(QueryWrapper query, int chunkSize) {
+        return removeInChunks(query, chunkSize, null);
+    }
+
+    /**
+     * 按主键范围分块删除满足条件的数据，每块是一条独立的 DELETE 语句（自动提交），块与块之间暂停 pause
+     *
+     * @param query     条件（不能包含 limit）
+     * @param chunkSize 每块最多删除的行数
+     * @param pause     块与块之间的暂停时间（给复制与其他事务留出余量），为 null 时不暂停
+     * @return 依次发出每一块的执行结果
+     * @see #executeInChunks(String, QueryWrapper, Object, int, Duration, ToIntBiFunction)
+     */
+    default Flux<ChunkResult> removeInChunks(QueryWrapper query, int chunkSize, Duration pause) {
+        return executeInChunks("removeInChunks", query, null, chunkSize, pause, BaseMapper::deleteByQuery);
+    }
+
+    /**
+     * 按主键范围分块执行更新 / 删除语句
+     * <p>
+     * 每一块先按主键升序定位第 chunkSize 条满足条件的数据的主键，再对 (上一块的主键, 该主键] 范围执行语句，
+     * 已处理的范围不会被重复扫描，条件中的列被更新后也不会重复或遗漏。每块是一条独立的语句：
+     * 不在事务中时各自提交，在会话（{@link ReactorSession}）或事务中执行时会加入该事务，此时无法缩短事务。
+     * 仅支持单主键的表，下游请求时才执行下一块，取消后不会再执行后续的块
+     *
+     * @param operation  操作名称（用于监控）
+     * @param query      条件（不会被修改，不能包含 limit）
+     * @param startAfter 起始主键（不包含），为 null 时从头开始，可以传入 {@link ChunkResult#getLastKey()} 继续执行
+     * @param chunkSize  每块最多影响的行数
+     * @param pause      块与块之间的暂停时间，为 null 时不暂停
+     * @param statement  对某一块的范围条件执行语句并返回影响行数
+     * @return 依次发出每一块的执行结果
+     */
+    default Flux<ChunkResult> executeInChunks(String operation, QueryWrapper query, Object startAfter, int chunkSize,
+                                              Duration pause, ToIntBiFunction<BaseMapper<Entity>, QueryWrapper> statement) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0, but got " + chunkSize);
+        }
+        if (CPI.getLimitRows(query) != null) {
+            throw new IllegalArgumentException("Chunked statement does not support limit");
+        }
+        Function<ChunkResult, Mono<ChunkResult>> nextChunk = previous -> execute(operation, () -> {
+            QueryColumn keyColumn = new QueryColumn(EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(getMapper())).getColumn());
+            Object lowerKey = previous == null ? startAfter : previous.getLastKey();
+            // 原条件需要整体加括号，否则顶层的 or 会使主键范围失效，一次更新 / 删除超出本块的数据
+            QueryWrapper range = PartitionUtils.bracketWhere(query);
+            CPI.setOrderBys(range, null);
+            if (lowerKey != null) {
+                range.and(keyColumn.gt(lowerKey));
+            }
+            // 定位本块的上界：范围内按主键升序的第 chunkSize 条数据，不存在时说明这是最后一块
+            QueryWrapper probe = range.clone();
+            CPI.setSelectColumns(probe, null);
+            probe.select(keyColumn).orderBy(keyColumn.asc()).limit(chunkSize - 1, 1);
+            Object upperKey = getMapper().selectObjectByQuery(probe);
+            if (upperKey != null) {
+                range.and(keyColumn.le(upperKey));
+            }
+            int rows = statement.applyAsInt(getMapper(), range);
+            long totalRows = (previous == null ? 0 : previous.getTotalRows()) + rows;
+            return new ChunkResult(rows, totalRows, upperKey == null ? lowerKey : upperKey, upperKey != null);
+        });
+        Duration delay = pause == null || pause.isZero() || pause.isNegative() ? null : pause;
+        return Mono.defer(() -> nextChunk.apply(null))
+                .expand(result -> {
+                    if (!result.hasNext()) {
+                        return Mono.empty();
+                    }
+                    return delay == null ? nextChunk.apply(result) : Mono.delay(delay).then(nextChunk.apply(result));
+                });
     }
 
     /**
@@ -201,11 +732,7 @@ public interface ReactorService<Entity> {
      * @return 是否删除成功
      */
     default Mono<Boolean> removeById(Entity entity) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        SqlUtil.toBool(getMapper().delete(entity))
-                )
-        );
+        return execute("removeById", () -> SqlUtil.toBool(getMapper().delete(entity)));
     }
 
     /**
@@ -215,9 +742,7 @@ public interface ReactorService<Entity> {
      * @return 是否删除成功
      */
     default Mono<Boolean> removeById(Serializable id) {
-        return Mono.create(emitter ->
-                emitter.success(SqlUtil.toBool(getMapper().deleteById(id)))
-        );
+        return execute("removeById", () -> SqlUtil.toBool(getMapper().deleteById(id)));
     }
 
     /**
@@ -227,9 +752,24 @@ public interface ReactorService<Entity> {
      * @return 是否删除成功
      */
     default Mono<Boolean> removeByIds(Collection<Serializable> ids) {
-        return Mono.create(emitter ->
-                emitter.success(SqlUtil.toBool(getMapper().deleteBatchByIds(ids)))
-        );
+        return execute("removeByIds", () -> SqlUtil.toBool(getMapper().deleteBatchByIds(ids)));
+    }
+
+    /**
+     * 根据主键流分块删除数据
+     * <p>
+     * 主键按 chunkSize 分块，每块执行一条独立的 DELETE ... IN 语句（块大小不会让参数数量超过
+     * {@link ReactorGlobalConfig#getMaxParametersPerStatement()}），不需要事先收集所有主键
+     *
+     * @param ids         主键流
+     * @param chunkSize   每块的主键数量
+     * @param concurrency 最多同时执行的块数（同时占用的连接数）
+     * @return 返回一个 Flux，每块执行后发出该块删除的行数以及该块的主键 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<List<Serializable>>> removeByIds(Publisher<? extends Serializable> ids, int chunkSize, int concurrency) {
+        return Flux.<Serializable>from(ids)
+                .buffer(EntityUtils.getMaxIdsPerStatement(ReactorGlobalConfig.getDefaultConfig().getMaxParametersPerStatement(), chunkSize))
+                .flatMap(chunk -> execute("removeByIds", () -> new UpdateResult<>(getMapper().deleteBatchByIds(chunk), chunk)), concurrency);
     }
 
     /**
@@ -253,11 +793,7 @@ public interface ReactorService<Entity> {
      * @return 是否更新成功
      */
     default Mono<Boolean> updateById(Entity entity, boolean ignoreNulls) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        SqlUtil.toBool(getMapper().update(entity, ignoreNulls))
-                )
-        );
+        return execute("updateById", () -> SqlUtil.toBool(getMapper().update(entity, ignoreNulls)));
     }
 
     /**
@@ -300,11 +836,34 @@ public interface ReactorService<Entity> {
      * @return 是否更新成功
      */
     default Mono<Boolean> update(Entity entity, QueryWrapper query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        SqlUtil.toBool(getMapper().updateByQuery(entity, query))
-                )
-        );
+        return execute("update", () -> SqlUtil.toBool(getMapper().updateByQuery(entity, query)));
+    }
+
+    /**
+     * 按主键范围分块更新满足条件的数据，每块是一条独立的 UPDATE 语句（自动提交），避免单条语句长时间持有大量行锁
+     *
+     * @param entity    实体类对象（非空属性作为更新的值）
+     * @param query     条件（不能包含 limit）
+     * @param chunkSize 每块最多更新的行数
+     * @return 依次发出每一块的执行结果
+     * @see #executeInChunks(String, QueryWrapper, Object, int, Duration, ToIntBiFunction)
+     */
+    default Flux<ChunkResult> updateInChunks(Entity entity, QueryWrapper query, int chunkSize) {
+        return updateInChunks(entity, query, chunkSize, null);
+    }
+
+    /**
+     * 按主键范围分块更新满足条件的数据，每块是一条独立的 UPDATE 语句（自动提交），块与块之间暂停 pause
+     *
+     * @param entity    实体类对象（非空属性作为更新的值）
+     * @param query     条件（不能包含 limit）
+     * @param chunkSize 每块最多更新的行数
+     * @param pause     块与块之间的暂停时间（给复制与其他事务留出余量），为 null 时不暂停
+     * @return 依次发出每一块的执行结果
+     * @see #executeInChunks(String, QueryWrapper, Object, int, Duration, ToIntBiFunction)
+     */
+    default Flux<ChunkResult> updateInChunks(Entity entity, QueryWrapper query, int chunkSize, Duration pause) {
+        return executeInChunks("updateInChunks", query, null, chunkSize, pause, (mapper, range) -> mapper.updateByQuery(entity, range));
     }
 
     /**
@@ -313,17 +872,25 @@ public interface ReactorService<Entity> {
      * @param entities    实体类对象集合
      * @param ignoreNulls 是否忽略空值
      * @param batchSize   每次批量更新的记录数
-     * @return 返回一个 Flux，每一条记录该条数据是否更新成功以及该实体类对象 [UpdateResult]
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否更新成功以及该实体类对象 [UpdateResult]
      */
     default Flux<UpdateResult<Entity>> updateBatch(Collection<Entity> entities, boolean ignoreNulls, int batchSize) {
-        Class<BaseMapper<Entity>> usefulClass = ClassUtil.getUsefulClass((Class<BaseMapper<Entity>>) getMapper().getClass());
-        return Flux.create(emitter -> {
-            Db.executeBatch(entities, batchSize, usefulClass, (m, e) -> {
-                int rows = m.update(e, ignoreNulls);
-                emitter.next(new UpdateResult<>(rows, e));
-            });
-            emitter.complete();
-        });
+        return executeBatch(entities, batchSize, 1, (m, e) -> m.update(e, ignoreNulls));
+    }
+
+    /**
+     * 并行批量根据主键更新实体类对象数据
+     * <p>
+     * 集合被拆分为 parallelism 个分区，每个分区使用独立的连接与事务并行执行，事务以分区为单位（某个分区失败只会回滚该分区）
+     *
+     * @param entities    实体类对象集合
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   分区内每次 flush 的记录数
+     * @param parallelism 分区数量（同时占用的连接数）
+     * @return 返回一个 Flux，每个分区提交后发出该分区每一条数据是否更新成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> updateBatch(Collection<Entity> entities, boolean ignoreNulls, int batchSize, int parallelism) {
+        return executeBatch(entities, batchSize, parallelism, (m, e) -> m.update(e, ignoreNulls));
     }
 
     /**
@@ -331,7 +898,7 @@ public interface ReactorService<Entity> {
      *
      * @param entities    实体类对象集合
      * @param ignoreNulls 是否忽略空值
-     * @return 返回一个 Flux，每一条记录该条数据是否更新成功以及该实体类对象 [UpdateResult]
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否更新成功以及该实体类对象 [UpdateResult]
      */
     default Flux<UpdateResult<Entity>> updateBatch(Collection<Entity> entities, boolean ignoreNulls) {
         return updateBatch(entities, ignoreNulls, DEFAULT_BATCH_SIZE);
@@ -341,12 +908,73 @@ public interface ReactorService<Entity> {
      * 根据主键批量更新数据（忽略空值）
      *
      * @param entities 实体类对象集合
-     * @return 返回一个 Flux，每一条记录该条数据是否更新成功以及该实体类对象 [UpdateResult]
+     * @return 返回一个 Flux，整批提交后发出每一条数据是否更新成功以及该实体类对象 [UpdateResult]
      */
     default Flux<UpdateResult<Entity>> updateBatch(Collection<Entity> entities) {
         return updateBatch(entities, true, DEFAULT_BATCH_SIZE);
     }
 
+    /**
+     * 流式根据主键批量更新数据（按 batchSize 分批，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批更新的记录数
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否更新成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> updateBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize) {
+        return executeBatch(Flux.from(entities).buffer(batchSize), (m, e) -> m.update(e, ignoreNulls));
+    }
+
+    /**
+     * 流式并行批量根据主键更新实体类对象数据（按 batchSize 分批，每批使用独立的连接与事务，最多同时执行 parallelism 批）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批的记录数
+     * @param parallelism 最多同时执行的批次数（同时占用的连接数）
+     * @return 返回一个 Flux，按提交完成的顺序发出每批每一条数据是否更新成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> updateBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize, int parallelism) {
+        return executeBatch(Flux.from(entities).buffer(batchSize), parallelism, (m, e) -> m.update(e, ignoreNulls));
+    }
+
+    /**
+     * 流式根据主键批量更新数据（攒满 batchSize 或等待超过 maxWait 时提交一批）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param batchSize   每批更新的最大记录数
+     * @param maxWait     一批数据最长的等待时间
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否更新成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> updateBatch(Publisher<Entity> entities, boolean ignoreNulls, int batchSize, Duration maxWait) {
+        return executeBatch(Flux.from(entities).bufferTimeout(batchSize, maxWait, true), (m, e) -> m.update(e, ignoreNulls));
+    }
+
+    /**
+     * 流式根据主键批量更新数据（根据每批的耗时自动调整批次大小，每批单独提交）
+     *
+     * @param entities    实体类对象流
+     * @param ignoreNulls 是否忽略空值
+     * @param sizer       自适应批次大小
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否更新成功以及该实体类对象 {@link UpdateResult}
+     * @see #executeBatch(Publisher, AdaptiveBatchSizer, ToIntBiFunction)
+     */
+    default Flux<UpdateResult<Entity>> updateBatch(Publisher<Entity> entities, boolean ignoreNulls, AdaptiveBatchSizer sizer) {
+        return executeBatch(entities, sizer, (m, e) -> m.update(e, ignoreNulls));
+    }
+
+    /**
+     * 流式根据主键批量更新数据（忽略空值，按默认批次大小分批，每批单独提交）
+     *
+     * @param entities 实体类对象流
+     * @return 返回一个 Flux，每批提交后发出该批每一条数据是否更新成功以及该实体类对象 {@link UpdateResult}
+     */
+    default Flux<UpdateResult<Entity>> updateBatch(Publisher<Entity> entities) {
+        return updateBatch(entities, true, DEFAULT_BATCH_SIZE);
+    }
+
     /**
      * 根据主键查询一条数据
      *
@@ -354,9 +982,28 @@ public interface ReactorService<Entity> {
      * @return 查询结果
      */
     default Mono<Entity> getById(Serializable id) {
-        return Mono.create(emitter ->
-                emitter.success(getMapper().selectOneById(id))
-        );
+        return executeRead("getById", () -> getMapper().selectOneById(id));
+    }
+
+    /**
+     * 获取合并根据主键查询请求的加载器
+     *
+     * @return 加载器，默认返回 null（不合并），ReactorServiceImpl 中会提供一个共享的加载器
+     */
+    default IdBatchLoader<Entity> getIdBatchLoader() {
+        return null;
+    }
+
+    /**
+     * 根据主键查询一条数据，同一时间窗口内的并发请求会被合并为一次 selectListByIds 查询
+     *
+     * @param id 主键
+     * @return 查询结果
+     * @see IdBatchLoader
+     */
+    default Mono<Entity> getByIdBatched(Serializable id) {
+        IdBatchLoader<Entity> loader = getIdBatchLoader();
+        return loader == null ? getById(id) : loader.load(id);
     }
 
     /**
@@ -366,11 +1013,7 @@ public interface ReactorService<Entity> {
      * @return 查询结果
      */
     default Mono<Entity> getById(Entity entity) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectOneByEntityId(entity)
-                )
-        );
+        return executeRead("getById", () -> getMapper().selectOneByEntityId(entity));
     }
 
     /**
@@ -380,11 +1023,7 @@ public interface ReactorService<Entity> {
      * @return 查询结果
      */
     default Mono<Entity> getOne(QueryWrapper query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectOneByQuery(query)
-                )
-        );
+        return executeRead("getOne", () -> getMapper().selectOneByQuery(query));
     }
 
     /**
@@ -396,11 +1035,7 @@ public interface ReactorService<Entity> {
      * @return 查询结果
      */
     default <AS> Mono<AS> getOneAs(QueryWrapper query, Class<AS> asType) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectOneByQueryAs(query, asType)
-                )
-        );
+        return executeRead("getOneAs", () -> getMapper().selectOneByQueryAs(query, asType));
     }
 
     /**
@@ -410,11 +1045,7 @@ public interface ReactorService<Entity> {
      * @return 数据值
      */
     default Mono<Object> getObject(QueryWrapper query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectObjectByQuery(query)
-                )
-        );
+        return executeRead("getObject", () -> getMapper().selectObjectByQuery(query));
     }
 
     /**
@@ -426,11 +1057,7 @@ public interface ReactorService<Entity> {
      * @return 数据值
      */
     default <AS> Mono<AS> getObjectAs(QueryWrapper query, Class<AS> asType) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectObjectByQueryAs(query, asType)
-                )
-        );
+        return executeRead("getObjectAs", () -> getMapper().selectObjectByQueryAs(query, asType));
     }
 
     /**
@@ -440,11 +1067,7 @@ public interface ReactorService<Entity> {
      * @return 数据列表
      */
     default Mono<List<Object>> getObjectListOnce(QueryWrapper query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectObjectListByQuery(query)
-                )
-        );
+        return executeRead("getObjectListOnce", () -> getMapper().selectObjectListByQuery(query));
     }
 
     /**
@@ -456,11 +1079,7 @@ public interface ReactorService<Entity> {
      * @return 数据列表
      */
     default <AS> Mono<List<AS>> getObjectListOnceAs(QueryWrapper query, Class<AS> asType) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectObjectListByQueryAs(query, asType)
-                )
-        );
+        return executeRead("getObjectListOnceAs", () -> getMapper().selectObjectListByQueryAs(query, asType));
     }
 
     /**
@@ -489,7 +1108,36 @@ public interface ReactorService<Entity> {
      * @return 数据列表
      */
     default Flux<Entity> list(QueryWrapper query) {
-        return ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQuery(query));
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQuery(query), ReactorGlobalConfig.getDefaultConfig().getDefaultPrefetch(), getCursorScheduler())),
+                "list", getMapper());
+    }
+
+    /**
+     * 根据条件查询所有数据（会开启事务）
+     *
+     * @param query    条件
+     * @param prefetch 预取数量（高水位），最多从游标中预先读取多少条尚未被下游消费的数据
+     * @return 数据列表
+     */
+    default Flux<Entity> list(QueryWrapper query, int prefetch) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQuery(query), prefetch, getCursorScheduler())),
+                "list", getMapper());
+    }
+
+    /**
+     * 根据条件查询数据（游标），并指定打开游标时的 JDBC 语句选项（如 fetch size，使 MySQL 等驱动真正逐批读取）
+     *
+     * @param query   条件
+     * @param options JDBC 语句选项，需要注册 {@link CursorStatementInterceptor} 后才会生效
+     * @return 数据流
+     */
+    default Flux<Entity> list(QueryWrapper query, CursorOptions options) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQuery(query),
+                        ReactorGlobalConfig.getDefaultConfig().getDefaultPrefetch(), options, getCursorScheduler())),
+                "list", getMapper());
     }
 
     /**
@@ -501,7 +1149,102 @@ public interface ReactorService<Entity> {
      * @return 数据列表
      */
     default <AS> Flux<AS> listAs(QueryWrapper query, Class<AS> asType) {
-        return ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQueryAs(query, asType));
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQueryAs(query, asType), ReactorGlobalConfig.getDefaultConfig().getDefaultPrefetch(), getCursorScheduler())),
+                "listAs", getMapper());
+    }
+
+    /**
+     * 根据条件查询所有数据，并且转换为指定的 [AS] 类型
+     *
+     * @param query    条件
+     * @param asType   指定的类型
+     * @param prefetch 预取数量（高水位），最多从游标中预先读取多少条尚未被下游消费的数据
+     * @param <AS>     指定类型的泛型
+     * @return 数据列表
+     */
+    default <AS> Flux<AS> listAs(QueryWrapper query, Class<AS> asType, int prefetch) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQueryAs(query, asType), prefetch, getCursorScheduler())),
+                "listAs", getMapper());
+    }
+
+    /**
+     * 根据条件查询数据，并且转换为指定的 [AS] 类型（游标），并指定打开游标时的 JDBC 语句选项
+     *
+     * @param query   条件
+     * @param asType  指定的类型
+     * @param options JDBC 语句选项，需要注册 {@link CursorStatementInterceptor} 后才会生效
+     * @param <AS>    指定类型的泛型
+     * @return 数据流
+     */
+    default <AS> Flux<AS> listAs(QueryWrapper query, Class<AS> asType, CursorOptions options) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToFlux(() -> getMapper().selectCursorByQueryAs(query, asType),
+                        ReactorGlobalConfig.getDefaultConfig().getDefaultPrefetch(), options, getCursorScheduler())),
+                "listAs", getMapper());
+    }
+
+    /**
+     * 根据条件查询数据（游标 | 按块发送）
+     * <p>
+     * 游标中的数据直接读入预先分配好容量的 List 后整块发送，适合需要批量消费的场景（如写入 Excel、批量推送），
+     * 比 {@code list(query).buffer(chunkSize)} 的开销更小
+     *
+     * @param query     条件
+     * @param chunkSize 每块的记录数
+     * @return 数据块流，除最后一块外每块都包含 chunkSize 条记录
+     */
+    default Flux<List<Entity>> listChunked(QueryWrapper query, int chunkSize) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToChunkedFlux(() -> getMapper().selectCursorByQuery(query), chunkSize, getCursorScheduler())),
+                "listChunked", getMapper());
+    }
+
+    /**
+     * 根据条件查询数据（游标 | 按块发送），并指定打开游标时的 JDBC 语句选项
+     *
+     * @param query     条件
+     * @param chunkSize 每块的记录数
+     * @param options   JDBC 语句选项，需要注册 {@link CursorStatementInterceptor} 后才会生效
+     * @return 数据块流，除最后一块外每块都包含 chunkSize 条记录
+     */
+    default Flux<List<Entity>> listChunked(QueryWrapper query, int chunkSize, CursorOptions options) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToChunkedFlux(() -> getMapper().selectCursorByQuery(query), chunkSize, options, getCursorScheduler())),
+                "listChunked", getMapper());
+    }
+
+    /**
+     * 根据条件查询数据，并且转换为指定的 [AS] 类型（游标 | 按块发送）
+     *
+     * @param query     条件
+     * @param asType    指定的类型
+     * @param chunkSize 每块的记录数
+     * @param <AS>      指定类型的泛型
+     * @return 数据块流，除最后一块外每块都包含 chunkSize 条记录
+     * @see #listChunked(QueryWrapper, int)
+     */
+    default <AS> Flux<List<AS>> listAsChunked(QueryWrapper query, Class<AS> asType, int chunkSize) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToChunkedFlux(() -> getMapper().selectCursorByQueryAs(query, asType), chunkSize, getCursorScheduler())),
+                "listAsChunked", getMapper());
+    }
+
+    /**
+     * 根据条件查询数据，并且转换为指定的 [AS] 类型（游标 | 按块发送），并指定打开游标时的 JDBC 语句选项
+     *
+     * @param query     条件
+     * @param asType    指定的类型
+     * @param chunkSize 每块的记录数
+     * @param options   JDBC 语句选项，需要注册 {@link CursorStatementInterceptor} 后才会生效
+     * @param <AS>      指定类型的泛型
+     * @return 数据块流，除最后一块外每块都包含 chunkSize 条记录
+     */
+    default <AS> Flux<List<AS>> listAsChunked(QueryWrapper query, Class<AS> asType, int chunkSize, CursorOptions options) {
+        return ReactorInstrumentations.flux(routeReads(
+                ReactorUtils.cursorToChunkedFlux(() -> getMapper().selectCursorByQueryAs(query, asType), chunkSize, options, getCursorScheduler())),
+                "listAsChunked", getMapper());
     }
 
     /**
@@ -511,9 +1254,38 @@ public interface ReactorService<Entity> {
      * @return 数据列表（Mono）
      */
     default Mono<List<Entity>> listOnceByIds(Collection<Serializable> ids) {
-        return Mono.create(emitter ->
-                emitter.success(getMapper().selectListByIds(ids))
-        );
+        return executeRead("listOnceByIds", () -> getMapper().selectListByIds(ids));
+    }
+
+    /**
+     * 根据主键流分块查询数据（每块 {@link #DEFAULT_BATCH_SIZE} 个主键，同时执行一块）
+     *
+     * @param ids 主键流
+     * @return 数据流
+     * @see #listByIds(Publisher, int, int)
+     */
+    default Flux<Entity> listByIds(Publisher<? extends Serializable> ids) {
+        return listByIds(ids, DEFAULT_BATCH_SIZE, 1);
+    }
+
+    /**
+     * 根据主键流分块查询数据
+     * <p>
+     * 主键按 chunkSize 分块，每块执行一条 IN 查询（块大小不会让参数数量超过
+     * {@link ReactorGlobalConfig#getMaxParametersPerStatement()}），每块返回后立即发出该块的数据。
+     * 内存中最多只有 concurrency 块主键与结果，适合对海量主键逐批补全数据；
+     * 数据的顺序与主键流的顺序无关，主键不存在时不会发出数据
+     *
+     * @param ids         主键流
+     * @param chunkSize   每块的主键数量
+     * @param concurrency 最多同时执行的块数（同时占用的连接数）
+     * @return 数据流
+     */
+    default Flux<Entity> listByIds(Publisher<? extends Serializable> ids, int chunkSize, int concurrency) {
+        return Flux.from(ids)
+                .buffer(EntityUtils.getMaxIdsPerStatement(ReactorGlobalConfig.getDefaultConfig().getMaxParametersPerStatement(), chunkSize))
+                .flatMap(chunk -> executeRead("listByIds", () -> getMapper().selectListByIds(chunk)), concurrency)
+                .flatMapIterable(list -> list);
     }
 
     /**
@@ -599,46 +1371,238 @@ public interface ReactorService<Entity> {
      * @return 在该页中的数据
      */
     default Flux<Entity> page(Page<Entity> page, QueryWrapper query, boolean queryTotal) {
-        // 为了避免一些序列化框架不使用 setter 方法构建对象，而产生错误的 page 值，所以这里还是需要进行一些处理
-        if(page.getPageNumber() < 1) {
-            page.setPageNumber(1);
-        }
-        if(page.getPageSize() < 1) {
-            page.setPageSize(FlexGlobalConfig.getDefaultConfig().getDefaultPageSize());
-        }
+        return page(page, query, queryTotal, false);
+    }
 
-        // ===== 下面的逻辑基本上就是复刻了 MapperUtil#doPaginate 的逻辑 =====
+    /**
+     * 获取分页数据
+     * <p>
+     * count 查询与数据查询都会延迟到订阅时才在 query 的副本上构建并执行，不会修改原始的 query 对象
+     *
+     * @param page            分页对象
+     * @param query           条件
+     * @param queryTotal      是否使用 count 查询总数并回填到 page 中（仅在 page 的 totalPage 不存在时才查询，当 totalPage 有值时无论该参数是否为 true 都不会再查询）
+     * @param concurrentCount 是否使用两个连接同时执行 count 查询与数据查询。为 false 时先查询总数再查询数据，
+     *                        保证收到第一条数据时 page 中已有总数；为 true 时只保证 Flux 完成时 page 中已有总数
+     * @return 在该页中的数据
+     */
+    default Flux<Entity> page(Page<Entity> page, QueryWrapper query, boolean queryTotal, boolean concurrentCount) {
+        return Flux.defer(() -> {
+            // 为了避免一些序列化框架不使用 setter 方法构建对象，而产生错误的 page 值，所以这里还是需要进行一些处理
+            if (page.getPageNumber() < 1) {
+                page.setPageNumber(1);
+            }
+            if (page.getPageSize() < 1) {
+                page.setPageSize(FlexGlobalConfig.getDefaultConfig().getDefaultPageSize());
+            }
 
-        // 预存一下原始的 limit 信息，因为分页操作逻辑中会修改 limit 信息
-        // 为了防止对用户原始 query 对象造成意外的影响，后续我们需要还原原始的 limit 信息
-        Long limitRows = CPI.getLimitRows(query);
-        Long limitOffset = CPI.getLimitOffset(query);
-        try {
+            // ===== 下面的逻辑基本上就是复刻了 MapperUtil#doPaginate 的逻辑 =====
+
+            // 分页会修改 limit 信息，为了防止对用户原始 query 对象造成意外的影响，这里在副本上构建分页查询
+            Flux<Entity> records = list(
+                    query.clone().limit(page.offset(), page.getPageSize())
+            );
             // 此处不采用 == INIT_VALUE 的形式，因为前端传来的 totalPage 可能是其它负数值
-            if (page.getTotalPage() < 0 && queryTotal) {
-                // 构建 count 查询条件：根据 needOptimizeCountQuery （是否启用优化查询，默认 true）抉择构建方式
-                QueryWrapper countQueryWrapper = page.needOptimizeCountQuery() ?
-                        // 构建优化的 count 查询条件
-                        MapperUtil.optimizeCountQueryWrapper(query) :
-                        // 构建原始 count 查询条件
-                        MapperUtil.rawCountQueryWrapper(query);
-                // 移除原有 limit，避免出现错误的数据
-                CPI.setLimitRows(countQueryWrapper, null);
-                CPI.setLimitOffset(countQueryWrapper, null);
-                page.setTotalRow(
-                        getMapper().selectCountByQuery(countQueryWrapper)
-                );
+            if (page.getTotalPage() >= 0 || !queryTotal) {
+                return records;
             }
-            return list(
-                    query.limit(page.offset(), page.getPageSize())
-            );
-        } finally {
-            // 还原原有 limit 信息
-            CPI.setLimitRows(query, limitRows);
-            CPI.setLimitOffset(query, limitOffset);
+            // 构建 count 查询条件：根据 needOptimizeCountQuery （是否启用优化查询，默认 true）抉择构建方式
+            QueryWrapper countQueryWrapper = page.needOptimizeCountQuery() ?
+                    // 构建优化的 count 查询条件
+                    MapperUtil.optimizeCountQueryWrapper(query) :
+                    // 构建原始 count 查询条件
+                    MapperUtil.rawCountQueryWrapper(query);
+            // 移除原有 limit，避免出现错误的数据
+            CPI.setLimitRows(countQueryWrapper, null);
+            CPI.setLimitOffset(countQueryWrapper, null);
+            Mono<Long> total = executeRead("page", () -> getMapper().selectCountByQuery(countQueryWrapper))
+                    .doOnNext(page::setTotalRow);
+            return concurrentCount ?
+                    records.mergeWith(total.then(Mono.empty())) :
+                    total.thenMany(records);
+        });
+    }
+
+
+    /**
+     * 按主键进行键集（Seek）分页：查询主键大于 lastKey 的一页数据
+     * <p>
+     * 每一页的开销只与页大小有关，与页的深度无关。仅支持单主键的表，query 中原有的排序与 limit 会被替换为按主键升序
+     *
+     * @param lastKey 上一页最后一条数据的主键（即上一页的 {@link KeysetPage#getNextKey()}），为 null 时查询第一页
+     * @param size    页大小
+     * @param query   条件
+     * @return 该页数据
+     */
+    default Mono<KeysetPage<Entity>> pageAfter(Object lastKey, int size, QueryWrapper query) {
+        IdInfo primaryKey = EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(getMapper()));
+        return pageAfter(new QueryColumn(primaryKey.getColumn()),
+                entity -> EntityUtils.getPropertyValue(entity, primaryKey.getProperty()), lastKey, size, query);
+    }
+
+    /**
+     * 按指定的有序且唯一的列进行键集（Seek）分页：查询该列大于 lastKey 的一页数据
+     * <p>
+     * 该列上需要有索引，query 中原有的排序与 limit 会被替换为按该列升序
+     *
+     * @param keyColumn 有序且唯一的列
+     * @param keyGetter 从实体中获取该列值的函数
+     * @param lastKey   上一页最后一条数据的键（即上一页的 {@link KeysetPage#getNextKey()}），为 null 时查询第一页
+     * @param size      页大小
+     * @param query     条件（不会被修改）
+     * @return 该页数据
+     */
+    default Mono<KeysetPage<Entity>> pageAfter(QueryColumn keyColumn, Function<Entity, ?> keyGetter,
+                                               Object lastKey, int size, QueryWrapper query) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be greater than 0, but got " + size);
         }
+        return executeRead("pageAfter", () -> {
+            // 原条件需要整体加括号，否则顶层的 or 会使键的下界失效
+            QueryWrapper seekQuery = PartitionUtils.bracketWhere(query);
+            if (lastKey != null) {
+                seekQuery.and(keyColumn.gt(lastKey));
+            }
+            CPI.setOrderBys(seekQuery, null);
+            // 多查询一条用于判断是否还有下一页
+            seekQuery.orderBy(keyColumn.asc()).limit(size + 1);
+            List<Entity> records = getMapper().selectListByQuery(seekQuery);
+            boolean hasNext = records.size() > size;
+            if (hasNext) {
+                // 复制一份，避免页数据持有整个查询结果
+                records = new ArrayList<>(records.subList(0, size));
+            }
+            Object nextKey = records.isEmpty() ? lastKey : keyGetter.apply(records.get(records.size() - 1));
+            return new KeysetPage<>(records, nextKey, hasNext);
+        });
+    }
+
+    /**
+     * 从 lastKey 之后开始，按主键逐页遍历所有满足条件的数据
+     *
+     * @param lastKey 起始键（不包含），为 null 时从第一页开始
+     * @param size    页大小
+     * @param query   条件
+     * @return 依次发出每一页数据，下游请求时才查询下一页
+     */
+    default Flux<KeysetPage<Entity>> pagesAfter(Object lastKey, int size, QueryWrapper query) {
+        return pageAfter(lastKey, size, query)
+                .expand(page -> page.hasNext() ? pageAfter(page.getNextKey(), size, query) : Mono.empty());
+    }
+
+    /**
+     * 从 lastKey 之后开始，按指定的有序且唯一的列逐页遍历所有满足条件的数据
+     *
+     * @param keyColumn 有序且唯一的列
+     * @param keyGetter 从实体中获取该列值的函数
+     * @param lastKey   起始键（不包含），为 null 时从第一页开始
+     * @param size      页大小
+     * @param query     条件
+     * @return 依次发出每一页数据，下游请求时才查询下一页
+     */
+    default Flux<KeysetPage<Entity>> pagesAfter(QueryColumn keyColumn, Function<Entity, ?> keyGetter,
+                                                Object lastKey, int size, QueryWrapper query) {
+        return pageAfter(keyColumn, keyGetter, lastKey, size, query)
+                .expand(page -> page.hasNext() ? pageAfter(keyColumn, keyGetter, page.getNextKey(), size, query) : Mono.empty());
+    }
+
+    /**
+     * 按主键的最小值与最大值将满足条件的数据均分为 partitions 段，返回段与段之间的分割点
+     *
+     * @param query      条件
+     * @param partitions 段数
+     * @return 分割点，没有数据时为空 Mono
+     * @throws IllegalStateException 主键不是数值类型（此时请自行指定分割点）
+     */
+    default Mono<List<Long>> getSplitPoints(QueryWrapper query, int partitions) {
+        return executeRead("getSplitPoints", () -> {
+            QueryColumn keyColumn = new QueryColumn(EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(getMapper())).getColumn());
+            Object min = getMapper().selectObjectByQuery(PartitionUtils.aggregateQuery(query, QueryMethods.min(keyColumn)));
+            Object max = getMapper().selectObjectByQuery(PartitionUtils.aggregateQuery(query, QueryMethods.max(keyColumn)));
+            if (min == null || max == null) {
+                return null;
+            }
+            if (!(min instanceof Number) || !(max instanceof Number)) {
+                throw new IllegalStateException("Primary key of " + getMapper().getClass().getName()
+                        + " is not numeric, please specify split points explicitly");
+            }
+            return PartitionUtils.splitRange(((Number) min).longValue(), ((Number) max).longValue(), partitions);
+        });
     }
 
+    /**
+     * 并行扫描：按主键范围将查询拆分为 partitions 段，每段使用独立的连接与游标读取，结果无序合并
+     *
+     * @param query      条件（不能包含 limit）
+     * @param partitions 段数（同时占用的连接数）
+     * @return 数据流
+     * @see #parallelScan(QueryWrapper, List, boolean)
+     */
+    default Flux<Entity> parallelScan(QueryWrapper query, int partitions) {
+        return parallelScan(query, partitions, false);
+    }
+
+    /**
+     * 并行扫描：按主键范围将查询拆分为 partitions 段（先查询主键的最小值与最大值），每段使用独立的连接与游标读取
+     *
+     * @param query      条件（不能包含 limit）
+     * @param partitions 段数（同时占用的连接数）
+     * @param ordered    是否按主键升序发出（各段并行读取，后面的段最多预读 prefetch 条等待前面的段发送完毕）
+     * @return 数据流
+     * @see #parallelScan(QueryWrapper, List, boolean)
+     */
+    default Flux<Entity> parallelScan(QueryWrapper query, int partitions, boolean ordered) {
+        return getSplitPoints(query, partitions)
+                .flatMapMany(splitPoints -> parallelScan(query, splitPoints, ordered));
+    }
+
+    /**
+     * 并行扫描：按指定的主键分割点将查询拆分为多段，每段使用独立的连接与游标读取
+     * <p>
+     * 适合大表导出：读取速度可以随连接数与 CPU 核数扩展。注意各段分别在独立的事务中读取，并不是同一个快照；
+     * 在会话（{@link ReactorSession}）中只有一个连接，此时退化为单个游标顺序读取
+     *
+     * @param query       条件（不能包含 limit）
+     * @param splitPoints 升序的主键分割点，n 个分割点会拆分出 n + 1 段
+     * @param ordered     是否按主键升序发出（后面的段最多预读 prefetch 条等待前面的段发送完毕），否则按读取先后合并
+     * @return 数据流
+     */
+    default Flux<Entity> parallelScan(QueryWrapper query, List<?> splitPoints, boolean ordered) {
+        return Flux.deferContextual(context -> {
+            QueryColumn keyColumn = new QueryColumn(EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(getMapper())).getColumn());
+            if (ReactorSession.current(context) != null) {
+                return list(PartitionUtils.splitQuery(query, keyColumn, Collections.emptyList(), ordered).get(0));
+            }
+            List<QueryWrapper> ranges = PartitionUtils.splitQuery(query, keyColumn, splitPoints, ordered);
+            return ordered ?
+                    Flux.fromIterable(ranges).flatMapSequential(this::list, ranges.size()) :
+                    Flux.fromIterable(ranges).flatMap(this::list, ranges.size());
+        });
+    }
+
+    /**
+     * 并行扫描并以 ParallelFlux 返回：每一段作为一条 rail，可以直接接 runOn 等并行操作符
+     *
+     * @param query      条件（不能包含 limit）
+     * @param partitions 段数（即 rail 数量，主键范围过小时部分 rail 可能没有数据）
+     * @return 并行数据流
+     * @see #parallelScan(QueryWrapper, List, boolean)
+     */
+    default ParallelFlux<Entity> parallelScanRails(QueryWrapper query, int partitions) {
+        Mono<List<QueryWrapper>> ranges = getSplitPoints(query, partitions)
+                .map(splitPoints -> PartitionUtils.splitQuery(query,
+                        new QueryColumn(EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(getMapper())).getColumn()),
+                        splitPoints, false))
+                .cache();
+        // ParallelFlux.from 只接受数组，泛型数组只能通过强制转换创建
+        @SuppressWarnings("unchecked")
+        Flux<Entity>[] rails = (Flux<Entity>[]) new Flux<?>[Math.max(1, partitions)];
+        for (int i = 0; i < rails.length; i++) {
+            int index = i;
+            rails[i] = ranges.flatMapMany(list -> index < list.size() ? list(list.get(index)) : Flux.empty());
+        }
+        return ParallelFlux.from(rails);
+    }
 
     /**
      * 根据条件查询数据是否存在
@@ -657,13 +1621,11 @@ public interface ReactorService<Entity> {
      * @return 是否存在
      */
     default Mono<Boolean> exists(QueryCondition query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        !getMapper().selectObjectListByQuery(
-                                QueryWrapper.create().where(query)
-                                        .limit(1)
-                        ).isEmpty()
-                )
+        return executeRead("exists", () ->
+                !getMapper().selectObjectListByQuery(
+                        QueryWrapper.create().where(query)
+                                .limit(1)
+                ).isEmpty()
         );
     }
 
@@ -683,11 +1645,7 @@ public interface ReactorService<Entity> {
      * @return 数据总数
      */
     default Mono<Long> count(QueryCondition query) {
-        return Mono.create(emitter ->
-                emitter.success(
-                        getMapper().selectCountByQuery(QueryWrapper.create().where(query))
-                )
-        );
+        return executeRead("count", () -> getMapper().selectCountByQuery(QueryWrapper.create().where(query)));
     }
 
     /**
@@ -697,9 +1655,7 @@ public interface ReactorService<Entity> {
      * @return 数据总数
      */
     default Mono<Long> count(QueryWrapper query) {
-        return Mono.create(emitter ->
-                emitter.success(getMapper().selectCountByQuery(query))
-        );
+        return executeRead("count", () -> getMapper().selectCountByQuery(query));
     }
 
     /**
@@ -744,9 +1700,7 @@ public interface ReactorService<Entity> {
      * @return 分页对象（Mono）
      */
     default <AS> Mono<Page<AS>> pageOnceAs(Page<AS> page, QueryWrapper query, Class<AS> asType) {
-        return Mono.create(emitter ->
-                emitter.success(getMapper().paginateAs(page, query, asType))
-        );
+        return executeRead("pageOnceAs", () -> getMapper().paginateAs(page, query, asType));
     }
 
     /**
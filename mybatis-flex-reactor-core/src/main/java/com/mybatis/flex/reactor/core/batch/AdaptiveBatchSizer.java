@@ -0,0 +1,144 @@
+package com.mybatis.flex.reactor.core.batch;
+
+import com.mybatis.flex.reactor.core.ReactorService;
+
+import java.time.Duration;
+
+/**
+ * 自适应批次大小（AIMD：加性增、乘性减）
+ * <p>
+ * 每批执行完成后记录耗时：耗时不超过目标耗时时批次大小增加 step，超过目标耗时或执行失败时减半，
+ * 批次大小始终在 [minSize, maxSize] 之间，最终收敛到单批耗时接近目标耗时的大小。
+ * 最优的批次大小与行宽、驱动、数据库负载都有关，因此在运行时测量而不是事先猜测。
+ * <p>
+ * 线程安全，同一个对象可以被多次（或并行的）批量写入共用，以保留已经学习到的批次大小
+ *
+ * @author 林钟一六
+ */
+public class AdaptiveBatchSizer {
+
+    /**
+     * 吞吐量指数加权移动平均的权重
+     */
+    private static final double ALPHA = 0.3;
+
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final long targetNanos;
+
+    private int currentSize;
+    private double rowsPerSecond;
+    private long lastLatencyNanos;
+
+    /**
+     * 初始批次大小为 {@link ReactorService#DEFAULT_BATCH_SIZE}（限制在 [minSize, maxSize] 内），每次增加 minSize
+     *
+     * @param minSize       最小批次大小
+     * @param maxSize       最大批次大小
+     * @param targetLatency 单批执行并提交的目标耗时
+     */
+    public AdaptiveBatchSizer(int minSize, int maxSize, Duration targetLatency) {
+        this(minSize, maxSize, Math.max(minSize, Math.min(maxSize, ReactorService.DEFAULT_BATCH_SIZE)), minSize, targetLatency);
+    }
+
+    /**
+     * @param minSize       最小批次大小
+     * @param maxSize       最大批次大小
+     * @param initialSize   初始批次大小
+     * @param step          耗时未超过目标时每次增加的数量
+     * @param targetLatency 单批执行并提交的目标耗时
+     */
+    public AdaptiveBatchSizer(int minSize, int maxSize, int initialSize, int step, Duration targetLatency) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid batch size range [" + minSize + ", " + maxSize + "]");
+        }
+        if (initialSize < minSize || initialSize > maxSize) {
+            throw new IllegalArgumentException("initialSize must be within [" + minSize + ", " + maxSize + "], but got " + initialSize);
+        }
+        if (step < 1) {
+            throw new IllegalArgumentException("step must be greater than 0, but got " + step);
+        }
+        if (targetLatency == null || targetLatency.isZero() || targetLatency.isNegative()) {
+            throw new IllegalArgumentException("targetLatency must be positive, but got " + targetLatency);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.targetNanos = targetLatency.toNanos();
+        this.currentSize = initialSize;
+    }
+
+    /**
+     * 记录一批数据执行成功
+     *
+     * @param rows          该批数据的数量
+     * @param latencyNanos  该批执行并提交的耗时（纳秒）
+     */
+    public synchronized void recordSuccess(int rows, long latencyNanos) {
+        lastLatencyNanos = latencyNanos;
+        if (latencyNanos > 0) {
+            double observed = rows * 1_000_000_000D / latencyNanos;
+            rowsPerSecond = rowsPerSecond == 0 ? observed : ALPHA * observed + (1 - ALPHA) * rowsPerSecond;
+        }
+        if (latencyNanos > targetNanos) {
+            decrease();
+        } else if (rows >= currentSize) {
+            // 数据不足一批（如流的末尾）时无法说明更大的批次也满足目标，不增加
+            currentSize = Math.min(maxSize, currentSize + step);
+        }
+    }
+
+    /**
+     * 记录一批数据执行失败（如锁等待超时），批次大小减半
+     *
+     * @param latencyNanos 该批从开始执行到失败的耗时（纳秒）
+     */
+    public synchronized void recordFailure(long latencyNanos) {
+        lastLatencyNanos = latencyNanos;
+        decrease();
+    }
+
+    private void decrease() {
+        currentSize = Math.max(minSize, currentSize / 2);
+    }
+
+    /**
+     * 当前的批次大小
+     *
+     * @return 下一批的数量
+     */
+    public synchronized int getCurrentSize() {
+        return currentSize;
+    }
+
+    /**
+     * 观测到的吞吐量（每秒行数，指数加权移动平均），尚未执行过时为 0
+     *
+     * @return 每秒行数
+     */
+    public synchronized double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /**
+     * 最近一批执行的耗时
+     *
+     * @return 耗时（纳秒）
+     */
+    public synchronized long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getTargetLatency() {
+        return Duration.ofNanos(targetNanos);
+    }
+}
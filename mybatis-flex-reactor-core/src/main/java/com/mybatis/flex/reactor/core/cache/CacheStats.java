@@ -0,0 +1,65 @@
+package com.mybatis.flex.reactor.core.cache;
+
+/**
+ * 缓存统计信息快照
+ *
+ * @author 林钟一六
+ */
+public class CacheStats {
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+    /**
+     * 未命中次数
+     */
+    private final long missCount;
+    /**
+     * 因容量不足被淘汰的数量
+     */
+    private final long evictionCount;
+    /**
+     * 当前缓存数量
+     */
+    private final long size;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 命中率
+     *
+     * @return 命中率，没有任何请求时为 1
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount
+                + ", evictionCount=" + evictionCount + ", size=" + size + '}';
+    }
+}
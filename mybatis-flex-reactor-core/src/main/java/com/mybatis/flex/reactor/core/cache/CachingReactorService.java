@@ -0,0 +1,305 @@
+package com.mybatis.flex.reactor.core.cache;
+
+import com.mybatis.flex.reactor.core.ReactorService;
+import com.mybatis.flex.reactor.core.loader.IdBatchLoader;
+import com.mybatis.flex.reactor.core.session.ReactorSession;
+import com.mybatis.flex.reactor.core.session.ReactorTx;
+import com.mybatis.flex.reactor.core.utils.EntityUtils;
+import com.mybatis.flex.reactor.core.wrapper.ChunkResult;
+import com.mybatis.flex.reactor.core.wrapper.UpdateResult;
+import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.query.QueryCondition;
+import com.mybatisflex.core.query.QueryWrapper;
+import com.mybatisflex.core.service.IService;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * 带缓存的响应式 Service（装饰器）
+ * <p>
+ * 缓存 getById、getOne、count、exists 的查询结果（包括空结果），同一个 key 的并发未命中只会访问一次数据库。
+ * 主键查询与条件查询分别使用两个缓存：
+ * <ul>
+ *     <li>根据主键写入（updateById、removeById、saveOrUpdate、批量写入等）时精确失效对应主键的缓存</li>
+ *     <li>任何写入都会清空条件查询（getOne、count、exists）的缓存</li>
+ *     <li>无法确定主键的写入（根据条件更新、删除，包括分块执行）会清空所有缓存</li>
+ * </ul>
+ * 注意：只有经过本对象的写入才会使缓存失效，通过 updateChain()、Mapper 或其他服务写入的数据需要依赖过期时间，
+ * 或手动调用 {@link #invalidateAll()}。
+ * 在会话或事务（{@link ReactorSession}、{@link ReactorTx}）中的读取不经过缓存
+ *
+ * @param <Entity> 实体类泛型
+ * @author 林钟一六
+ */
+public class CachingReactorService<Entity> implements ReactorService<Entity> {
+
+    private static final String ONE_PREFIX = "one:";
+    private static final String COUNT_PREFIX = "count:";
+    private static final String EXISTS_PREFIX = "exists:";
+
+    private final ReactorService<Entity> delegate;
+    private final ReactorCache idCache;
+    private final ReactorCache queryCache;
+
+    /**
+     * 主键属性名，为空字符串时表示没有唯一主键
+     */
+    private volatile String idProperty;
+
+    /**
+     * @param delegate 被装饰的 Service
+     * @param maxSize  主键缓存与条件查询缓存各自的最大数量
+     * @param ttl      过期时间，为 null 时不过期
+     */
+    public CachingReactorService(ReactorService<Entity> delegate, int maxSize, Duration ttl) {
+        this(delegate, new LruReactorCache(maxSize, ttl), new LruReactorCache(maxSize, ttl));
+    }
+
+    /**
+     * @param delegate   被装饰的 Service
+     * @param idCache    主键查询缓存
+     * @param queryCache 条件查询缓存
+     */
+    public CachingReactorService(ReactorService<Entity> delegate, ReactorCache idCache, ReactorCache queryCache) {
+        this.delegate = delegate;
+        this.idCache = idCache;
+        this.queryCache = queryCache;
+    }
+
+    public ReactorCache getIdCache() {
+        return idCache;
+    }
+
+    public ReactorCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * 清空所有缓存
+     */
+    public void invalidateAll() {
+        idCache.invalidateAll();
+        queryCache.invalidateAll();
+    }
+
+    @Override
+    public BaseMapper<Entity> getMapper() {
+        return delegate.getMapper();
+    }
+
+    @Override
+    public IService<Entity> getBlockService() {
+        return delegate.getBlockService();
+    }
+
+    @Override
+    public Scheduler getScheduler() {
+        return delegate.getScheduler();
+    }
+
+    @Override
+    public Scheduler getCursorScheduler() {
+        return delegate.getCursorScheduler();
+    }
+
+    @Override
+    public <T> Mono<T> execute(Callable<T> task) {
+        return delegate.execute(task);
+    }
+
+    @Override
+    public String getReadDataSourceKey() {
+        return delegate.getReadDataSourceKey();
+    }
+
+    @Override
+    public IdBatchLoader<Entity> getIdBatchLoader() {
+        return delegate.getIdBatchLoader();
+    }
+
+    // ---------------------------- 读取 ----------------------------
+
+    @Override
+    public Mono<Entity> getById(Serializable id) {
+        return cached(idCache, idKey(id), delegate.getById(id));
+    }
+
+    @Override
+    public Mono<Entity> getOne(QueryWrapper query) {
+        return cached(queryCache, ONE_PREFIX + query.toSQL(), delegate.getOne(query));
+    }
+
+    @Override
+    public Mono<Long> count(QueryWrapper query) {
+        return cached(queryCache, COUNT_PREFIX + query.toSQL(), delegate.count(query));
+    }
+
+    @Override
+    public Mono<Long> count(QueryCondition query) {
+        return count(QueryWrapper.create().where(query));
+    }
+
+    @Override
+    public Mono<Boolean> exists(QueryCondition query) {
+        return cached(queryCache, EXISTS_PREFIX + QueryWrapper.create().where(query).toSQL(), delegate.exists(query));
+    }
+
+    // ---------------------------- 写入 ----------------------------
+
+    @Override
+    public Mono<Boolean> save(Entity entity, boolean ignoreNulls) {
+        return invalidating(delegate.save(entity, ignoreNulls), () -> invalidateEntity(entity));
+    }
+
+    @Override
+    public Mono<Boolean> saveOrUpdate(Entity entity, boolean ignoreNulls) {
+        return invalidating(delegate.saveOrUpdate(entity, ignoreNulls), () -> invalidateEntity(entity));
+    }
+
+    @Override
+    public Mono<Boolean> updateById(Entity entity, boolean ignoreNulls) {
+        return invalidating(delegate.updateById(entity, ignoreNulls), () -> invalidateEntity(entity));
+    }
+
+    @Override
+    public Mono<Boolean> update(Entity entity, QueryWrapper query) {
+        return invalidating(delegate.update(entity, query), this::invalidateAll);
+    }
+
+    @Override
+    public Mono<Boolean> remove(QueryWrapper query) {
+        return invalidating(delegate.remove(query), this::invalidateAll);
+    }
+
+    @Override
+    public Flux<ChunkResult> executeInChunks(String operation, QueryWrapper query, Object startAfter, int chunkSize,
+                                             Duration pause, ToIntBiFunction<BaseMapper<Entity>, QueryWrapper> statement) {
+        // 每块提交后立即失效，避免块与块之间读到已被修改的缓存
+        return invalidating(delegate.executeInChunks(operation, query, startAfter, chunkSize, pause, statement)
+                .doOnNext(result -> invalidateAll()), this::invalidateAll);
+    }
+
+    @Override
+    public Mono<Boolean> removeById(Entity entity) {
+        return invalidating(delegate.removeById(entity), () -> invalidateEntity(entity));
+    }
+
+    @Override
+    public Mono<Boolean> removeById(Serializable id) {
+        return invalidating(delegate.removeById(id), () -> invalidateId(id));
+    }
+
+    @Override
+    public Mono<Boolean> removeByIds(Collection<Serializable> ids) {
+        return invalidating(delegate.removeByIds(ids), () -> {
+            ids.forEach(id -> idCache.invalidate(idKey(id)));
+            queryCache.invalidateAll();
+        });
+    }
+
+    @Override
+    public Flux<UpdateResult<List<Serializable>>> removeByIds(Publisher<? extends Serializable> ids, int chunkSize, int concurrency) {
+        // 主键被读取时先失效一次（块执行失败或被取消时不会发出结果），执行后再失效一次，避免执行期间被重新加载
+        Flux<UpdateResult<List<Serializable>>> results = delegate.removeByIds(
+                        Flux.<Serializable>from(ids).doOnNext(id -> idCache.invalidate(idKey(id))), chunkSize, concurrency)
+                .doOnNext(result -> {
+                    result.getEntity().forEach(id -> idCache.invalidate(idKey(id)));
+                    queryCache.invalidateAll();
+                });
+        return invalidating(results, queryCache::invalidateAll);
+    }
+
+    @Override
+    public Flux<UpdateResult<Entity>> executeBatch(Publisher<? extends Collection<Entity>> batches, int parallelism,
+                                                    ToIntBiFunction<BaseMapper<Entity>, Entity> operation) {
+        return invalidating(delegate.executeBatch(batches, parallelism, operation)
+                .doOnNext(result -> invalidateEntity(result.getEntity())), queryCache::invalidateAll);
+    }
+
+    @Override
+    public Flux<UpdateResult<Entity>> executeBatch(Collection<Entity> entities, int batchSize, int parallelism,
+                                                    ToIntBiFunction<BaseMapper<Entity>, Entity> operation) {
+        return invalidating(delegate.executeBatch(entities, batchSize, parallelism, operation)
+                .doOnNext(result -> invalidateEntity(result.getEntity())), queryCache::invalidateAll);
+    }
+
+    @Override
+    public Flux<UpdateResult<List<Entity>>> saveBatchMultiValues(Collection<Entity> entities, int batchSize) {
+        return invalidating(delegate.saveBatchMultiValues(entities, batchSize)
+                .doOnNext(result -> result.getEntity().forEach(this::invalidateEntity)), queryCache::invalidateAll);
+    }
+
+    @Override
+    public Flux<UpdateResult<List<Entity>>> saveBatchMultiValues(Publisher<Entity> entities, int batchSize) {
+        return invalidating(delegate.saveBatchMultiValues(entities, batchSize)
+                .doOnNext(result -> result.getEntity().forEach(this::invalidateEntity)), queryCache::invalidateAll);
+    }
+
+    /**
+     * 读取缓存，在会话或事务（{@link ReactorSession}、{@link ReactorTx}）中执行时直接访问数据库：
+     * 会话中可能读到尚未提交的数据，不能放入缓存，同时缓存中的数据也看不到会话中已执行的写入
+     */
+    private static <T> Mono<T> cached(ReactorCache cache, String key, Mono<T> loader) {
+        return Mono.deferContextual(context -> ReactorSession.current(context) != null ? loader : cache.get(key, loader));
+    }
+
+    /**
+     * 写入结束时失效缓存：必须在结果发给下游之前失效（doFinally 在下游收到结束信号之后才执行），
+     * 否则紧接着的读取（如 {@code removeById(id).then(getById(id))}）仍会读到旧的缓存
+     */
+    private static <T> Mono<T> invalidating(Mono<T> write, Runnable invalidation) {
+        return write.doOnSuccess(result -> invalidation.run())
+                .doOnError(e -> invalidation.run())
+                .doOnCancel(invalidation);
+    }
+
+    private static <T> Flux<T> invalidating(Flux<T> write, Runnable invalidation) {
+        return write.doOnComplete(invalidation)
+                .doOnError(e -> invalidation.run())
+                .doOnCancel(invalidation);
+    }
+
+    private void invalidateId(Serializable id) {
+        idCache.invalidate(idKey(id));
+        queryCache.invalidateAll();
+    }
+
+    private void invalidateEntity(Entity entity) {
+        Object id = entity == null ? null : getIdValue(entity);
+        if (id == null) {
+            idCache.invalidateAll();
+        } else {
+            idCache.invalidate(idKey(id));
+        }
+        queryCache.invalidateAll();
+    }
+
+    private Object getIdValue(Entity entity) {
+        String property = idProperty;
+        if (property == null) {
+            try {
+                property = EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(getMapper())).getProperty();
+            } catch (IllegalStateException e) {
+                property = "";
+            }
+            idProperty = property;
+        }
+        return property.isEmpty() ? null : EntityUtils.getPropertyValue(entity, property);
+    }
+
+    /**
+     * 主键统一转换为字符串，避免 1 与 1L 被当作不同的 key
+     */
+    private static String idKey(Object id) {
+        return String.valueOf(id);
+    }
+}
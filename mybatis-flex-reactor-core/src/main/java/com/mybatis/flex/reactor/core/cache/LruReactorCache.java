@@ -0,0 +1,141 @@
+package com.mybatis.flex.reactor.core.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 基于 LRU 淘汰策略、支持过期时间的有界缓存
+ *
+ * @author 林钟一六
+ */
+public class LruReactorCache implements ReactorCache {
+
+    /**
+     * 空值占位（查询结果为空时同样缓存）
+     */
+    private static final Object NULL = new Object();
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Object, Entry> entries;
+    private final Map<Object, Mono<Object>> loading = new HashMap<>();
+    /**
+     * 每次失效时递增，加载开始后发生过失效的值不会写入缓存
+     */
+    private long version;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param maxSize 最大缓存数量，超出后淘汰最久未使用的值
+     * @param ttl     过期时间，为 null 或非正数时不过期
+     */
+    public LruReactorCache(int maxSize, Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be greater than 0, but got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl == null || ttl.isNegative() ? 0 : ttl.toNanos();
+        this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > LruReactorCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Mono<V> get(Object key, Mono<V> loader) {
+        return Mono.defer(() -> {
+            Mono<Object> shared;
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if (entry != null && !entry.isExpired()) {
+                    hitCount++;
+                    return entry.value == NULL ? Mono.<V>empty() : Mono.just((V) entry.value);
+                }
+                if (entry != null) {
+                    entries.remove(key);
+                }
+                missCount++;
+                shared = loading.get(key);
+                if (shared == null) {
+                    shared = load(key, loader);
+                    loading.put(key, shared);
+                }
+            }
+            return shared.filter(value -> value != NULL).map(value -> (V) value);
+        });
+    }
+
+    private Mono<Object> load(Object key, Mono<?> loader) {
+        long loadVersion = version;
+        // 结束时需要引用自身，只移除本次加载（之后可能已开始新的加载）
+        AtomicReference<Mono<Object>> self = new AtomicReference<>();
+        self.set(loader.<Object>map(value -> value)
+                .defaultIfEmpty(NULL)
+                .doOnNext(value -> store(key, value, loadVersion))
+                .doOnTerminate(() -> finishLoading(key, self.get()))
+                .cache());
+        return self.get();
+    }
+
+    private synchronized void store(Object key, Object value, long loadVersion) {
+        if (version == loadVersion) {
+            entries.put(key, new Entry(value, ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0));
+        }
+    }
+
+    private synchronized void finishLoading(Object key, Mono<Object> load) {
+        loading.remove(key, load);
+    }
+
+    @Override
+    public synchronized void invalidate(Object key) {
+        version++;
+        entries.remove(key);
+        loading.remove(key);
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+        loading.clear();
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, entries.size());
+    }
+
+    private static class Entry {
+        private final Object value;
+        /**
+         * 过期时间（System.nanoTime），为 0 时不过期
+         */
+        private final long expireAt;
+
+        private Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired() {
+            return expireAt != 0 && System.nanoTime() - expireAt > 0;
+        }
+    }
+}
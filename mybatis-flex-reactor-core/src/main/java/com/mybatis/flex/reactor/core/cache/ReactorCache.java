@@ -0,0 +1,42 @@
+package com.mybatis.flex.reactor.core.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式缓存
+ * <p>
+ * 实现类需要保证同一个 key 同一时间只会执行一次加载（single-flight），避免缓存未命中时大量请求同时访问数据库
+ *
+ * @author 林钟一六
+ */
+public interface ReactorCache {
+
+    /**
+     * 获取缓存值，未命中时使用 loader 加载并写入缓存
+     *
+     * @param key    缓存 key
+     * @param loader 加载函数（为空时同样会被缓存）
+     * @param <V>    值泛型
+     * @return 缓存值
+     */
+    <V> Mono<V> get(Object key, Mono<V> loader);
+
+    /**
+     * 使某个 key 失效，正在加载中的值也不会再写入缓存
+     *
+     * @param key 缓存 key
+     */
+    void invalidate(Object key);
+
+    /**
+     * 使所有缓存失效，正在加载中的值也不会再写入缓存
+     */
+    void invalidateAll();
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 统计信息
+     */
+    CacheStats getStats();
+}
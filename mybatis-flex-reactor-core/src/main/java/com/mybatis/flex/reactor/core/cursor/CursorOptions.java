@@ -0,0 +1,116 @@
+package com.mybatis.flex.reactor.core.cursor;
+
+import org.apache.ibatis.mapping.ResultSetType;
+
+/**
+ * 游标查询的 JDBC 语句选项
+ * <p>
+ * 需要注册 {@link CursorStatementInterceptor} 后才会生效，为 null 的选项保持 MyBatis 原有的配置
+ *
+ * @author 林钟一六
+ */
+public class CursorOptions {
+
+    /**
+     * 不修改任何选项
+     */
+    public static final CursorOptions NONE = new CursorOptions(null, null, null);
+
+    private static final ThreadLocal<CursorOptions> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 每次从数据库获取的行数（fetch size）
+     */
+    private final Integer fetchSize;
+    /**
+     * 结果集类型
+     */
+    private final ResultSetType resultSetType;
+    /**
+     * 查询超时时间（秒）
+     */
+    private final Integer queryTimeout;
+
+    public CursorOptions(Integer fetchSize, ResultSetType resultSetType, Integer queryTimeout) {
+        this.fetchSize = fetchSize;
+        this.resultSetType = resultSetType;
+        this.queryTimeout = queryTimeout;
+    }
+
+    /**
+     * 只指定 fetch size 的选项
+     *
+     * @param fetchSize 每次从数据库获取的行数
+     * @return 游标选项
+     */
+    public static CursorOptions fetchSize(int fetchSize) {
+        return new CursorOptions(fetchSize, null, null);
+    }
+
+    public CursorOptions withFetchSize(Integer fetchSize) {
+        return new CursorOptions(fetchSize, resultSetType, queryTimeout);
+    }
+
+    public CursorOptions withResultSetType(ResultSetType resultSetType) {
+        return new CursorOptions(fetchSize, resultSetType, queryTimeout);
+    }
+
+    public CursorOptions withQueryTimeout(Integer queryTimeout) {
+        return new CursorOptions(fetchSize, resultSetType, queryTimeout);
+    }
+
+    public Integer getFetchSize() {
+        return fetchSize;
+    }
+
+    public ResultSetType getResultSetType() {
+        return resultSetType;
+    }
+
+    public Integer getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * 是否没有指定任何选项
+     *
+     * @return 是否没有指定任何选项
+     */
+    public boolean isEmpty() {
+        return fetchSize == null && (resultSetType == null || resultSetType == ResultSetType.DEFAULT) && queryTimeout == null;
+    }
+
+    /**
+     * 获取当前线程正在打开的游标的选项
+     *
+     * @return 游标选项，不在打开游标时为 null
+     */
+    public static CursorOptions current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 设置当前线程接下来打开的游标的选项，打开后需要调用 {@link #clear()}
+     *
+     * @param options 游标选项
+     */
+    public static void set(CursorOptions options) {
+        if (options == null || options.isEmpty()) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(options);
+        }
+    }
+
+    /**
+     * 清除当前线程的游标选项
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String toString() {
+        return "CursorOptions{fetchSize=" + fetchSize + ", resultSetType=" + resultSetType + ", queryTimeout=" + queryTimeout + '}';
+    }
+}
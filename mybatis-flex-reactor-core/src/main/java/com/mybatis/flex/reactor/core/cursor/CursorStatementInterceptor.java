@@ -0,0 +1,97 @@
+package com.mybatis.flex.reactor.core.cursor;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 为游标查询设置 fetch size、结果集类型与超时时间的 MyBatis 拦截器
+ * <p>
+ * 只对 ReactorService 打开游标时（{@link CursorOptions#current()} 不为空）创建的语句生效，对其他语句没有影响。
+ * 各驱动真正做到逐批读取的条件：
+ * <ul>
+ *     <li>MySQL Connector/J：默认会把整个结果集读入内存，fetch size 大于 0 时会改为 Integer.MIN_VALUE 并使用只进只读结果集逐行读取；
+ *     若连接参数中开启了 useCursorFetch=true，则直接使用该 fetch size（服务端游标）。
+ *     注意逐行读取期间同一连接上不能执行其他语句，因此不要在会话（ReactorSession）中同时使用其他操作</li>
+ *     <li>PostgreSQL：只有在关闭自动提交且结果集为只进时 fetch size 才会生效，游标查询默认已在事务中执行，这里会保证结果集为只进</li>
+ *     <li>其他驱动：直接设置 fetch size</li>
+ * </ul>
+ *
+ * @author 林钟一六
+ */
+@Intercepts({@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})})
+public class CursorStatementInterceptor implements Interceptor {
+
+    private static final String MYSQL_DRIVER_PREFIX = "MySQL Connector";
+    private static final String USE_CURSOR_FETCH = "usecursorfetch=true";
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        CursorOptions options = CursorOptions.current();
+        if (options == null || options.isEmpty()) {
+            return invocation.proceed();
+        }
+        Connection connection = (Connection) invocation.getArgs()[0];
+        DatabaseMetaData metaData = connection.getMetaData();
+        Integer fetchSize = options.getFetchSize();
+        ResultSetType resultSetType = options.getResultSetType();
+        if (fetchSize != null && fetchSize > 0) {
+            if (isMySqlWithoutCursorFetch(metaData)) {
+                fetchSize = Integer.MIN_VALUE;
+                resultSetType = ResultSetType.FORWARD_ONLY;
+            } else if (POSTGRESQL.equals(metaData.getDatabaseProductName()) && resultSetType == null) {
+                resultSetType = ResultSetType.FORWARD_ONLY;
+            }
+        }
+        if (resultSetType != null && resultSetType != ResultSetType.DEFAULT) {
+            invocation.getArgs()[0] = withResultSetType(connection, resultSetType.getValue());
+        }
+
+        Statement statement = (Statement) invocation.proceed();
+        if (fetchSize != null) {
+            statement.setFetchSize(fetchSize);
+        }
+        if (options.getQueryTimeout() != null) {
+            statement.setQueryTimeout(options.getQueryTimeout());
+        }
+        return statement;
+    }
+
+    private static boolean isMySqlWithoutCursorFetch(DatabaseMetaData metaData) throws SQLException {
+        String driverName = metaData.getDriverName();
+        if (driverName == null || !driverName.startsWith(MYSQL_DRIVER_PREFIX)) {
+            return false;
+        }
+        String url = metaData.getURL();
+        return url == null || !url.toLowerCase().contains(USE_CURSOR_FETCH);
+    }
+
+    /**
+     * 代理连接，使未指定结果集类型的 prepareStatement(sql) 使用指定的结果集类型（只读）
+     */
+    private static Connection withResultSetType(Connection connection, int resultSetType) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        if ("prepareStatement".equals(method.getName()) && args != null && args.length == 1) {
+                            return connection.prepareStatement((String) args[0], resultSetType, ResultSet.CONCUR_READ_ONLY);
+                        }
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,230 @@
+package com.mybatis.flex.reactor.core.loader;
+
+import com.mybatis.flex.reactor.core.ReactorService;
+import com.mybatis.flex.reactor.core.routing.ReadRouting;
+import com.mybatis.flex.reactor.core.session.ReactorSession;
+import com.mybatis.flex.reactor.core.utils.EntityUtils;
+import com.mybatisflex.core.table.IdInfo;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 合并根据主键查询的加载器（DataLoader）
+ * <p>
+ * 在一个时间窗口内（或攒满 maxBatchSize 个主键时）收集并发的 {@link #load(Serializable)} 请求，
+ * 合并为一次 selectListByIds 查询，再将结果分发给各个订阅者，避免 N+1 查询。
+ * 窗口内以及已发出但尚未返回的相同主键只会查询一次。
+ * 在会话或事务中、或通过 Context 指定了读数据源的请求不会被合并，直接执行 getById
+ *
+ * @param <Entity> 实体类泛型
+ * @author 林钟一六
+ */
+public class IdBatchLoader<Entity> {
+
+    /**
+     * 默认的收集窗口
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+
+    /**
+     * 默认的单次查询最大主键数量
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final ReactorService<Entity> service;
+    private final Function<Entity, ?> idGetter;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    /**
+     * 当前窗口内等待查询的主键
+     */
+    private Map<String, Request<Entity>> pending = new LinkedHashMap<>();
+    /**
+     * 已发出查询但尚未返回的主键
+     */
+    private final Map<String, Request<Entity>> inFlight = new HashMap<>();
+    private Disposable timer;
+
+    /**
+     * 使用默认窗口与批次大小，按实体类的主键合并查询
+     *
+     * @param service ReactorService
+     */
+    public IdBatchLoader(ReactorService<Entity> service) {
+        this(service, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * 按实体类的主键合并查询（仅支持单主键的表）
+     *
+     * @param service      ReactorService
+     * @param window       收集窗口
+     * @param maxBatchSize 单次查询最大主键数量
+     */
+    public IdBatchLoader(ReactorService<Entity> service, Duration window, int maxBatchSize) {
+        this(service, primaryKeyGetter(service), window, maxBatchSize);
+    }
+
+    /**
+     * @param service      ReactorService
+     * @param idGetter     从实体中获取主键的函数，用于将查询结果分发给对应的请求
+     * @param window       收集窗口
+     * @param maxBatchSize 单次查询最大主键数量
+     */
+    public IdBatchLoader(ReactorService<Entity> service, Function<Entity, ?> idGetter, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0, but got " + maxBatchSize);
+        }
+        this.service = service;
+        this.idGetter = idGetter;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 根据主键加载一条数据，会与同一窗口内的其它请求合并为一次查询（Context 中带有会话或读数据源时不合并）
+     *
+     * @param id 主键
+     * @return 查询结果，数据不存在时为空
+     */
+    public Mono<Entity> load(Serializable id) {
+        return Mono.deferContextual(context -> {
+            if (!isBatchable(context)) {
+                return service.getById(id);
+            }
+            String key = keyOf(id);
+            Request<Entity> request;
+            Map<String, Request<Entity>> full = null;
+            synchronized (lock) {
+                request = inFlight.get(key);
+                if (request == null) {
+                    request = pending.get(key);
+                }
+                if (request == null) {
+                    request = new Request<>(id);
+                    pending.put(key, request);
+                    if (pending.size() >= maxBatchSize) {
+                        full = drainPending();
+                    } else if (pending.size() == 1) {
+                        timer = Schedulers.parallel().schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return request.sink.asMono();
+        });
+    }
+
+    /**
+     * 合并后的查询在订阅者的 Context 之外执行，所以 Context 中带有会话或指定了读数据源的请求不能合并：
+     * 会话中的读取需要使用会话的连接（才能看到会话中尚未提交的写入），指定的读数据源只对本次请求有效
+     *
+     * @param context 请求的 Context
+     * @return 是否可以与其他请求合并
+     */
+    private static boolean isBatchable(ContextView context) {
+        return ReactorSession.current(context) == null
+                && !context.hasKey(ReadRouting.CONTEXT_KEY)
+                && !context.hasKey(ReadRouting.STICKY_KEY);
+    }
+
+    /**
+     * 立即查询当前窗口内收集的所有主键
+     */
+    public void flush() {
+        Map<String, Request<Entity>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drainPending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<String, Request<Entity>> drainPending() {
+        Map<String, Request<Entity>> batch = pending;
+        pending = new LinkedHashMap<>();
+        inFlight.putAll(batch);
+        if (timer != null) {
+            timer.dispose();
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, Request<Entity>> batch) {
+        List<Serializable> ids = new ArrayList<>(batch.size());
+        for (Request<Entity> request : batch.values()) {
+            ids.add(request.id);
+        }
+        service.listOnceByIds(ids).subscribe(
+                entities -> {
+                    complete(batch);
+                    try {
+                        for (Entity entity : entities) {
+                            Request<Entity> request = batch.remove(keyOf(idGetter.apply(entity)));
+                            if (request != null) {
+                                request.sink.tryEmitValue(entity);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        // idGetter 出错时无法再分发结果，尚未完成的请求都以该异常结束，避免订阅者永远等待
+                        batch.values().forEach(request -> request.sink.tryEmitError(e));
+                        return;
+                    }
+                    // 剩余的主键没有对应的数据
+                    batch.values().forEach(request -> request.sink.tryEmitEmpty());
+                },
+                error -> {
+                    complete(batch);
+                    batch.values().forEach(request -> request.sink.tryEmitError(error));
+                }
+        );
+    }
+
+    private void complete(Map<String, Request<Entity>> batch) {
+        synchronized (lock) {
+            batch.forEach(inFlight::remove);
+        }
+    }
+
+    /**
+     * 一个主键的查询请求，同一主键的所有订阅者共享
+     */
+    private static class Request<Entity> {
+        private final Serializable id;
+        private final Sinks.One<Entity> sink = Sinks.one();
+
+        private Request(Serializable id) {
+            this.id = id;
+        }
+    }
+
+    private static String keyOf(Object id) {
+        // 统一转为字符串比较，避免 Integer 与 Long 等类型不一致导致无法匹配
+        return String.valueOf(id);
+    }
+
+    private static <Entity> Function<Entity, ?> primaryKeyGetter(ReactorService<Entity> service) {
+        IdInfo primaryKey = EntityUtils.getSinglePrimaryKey(EntityUtils.getTableInfo(service.getMapper()));
+        return entity -> EntityUtils.getPropertyValue(entity, primaryKey.getProperty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 同时使用多个监控实现（如 Micrometer 与 JFR）
+ *
+ * @author 林钟一六
+ */
+public class CompositeInstrumentation implements ReactorInstrumentation {
+
+    private final List<ReactorInstrumentation> instrumentations;
+
+    public CompositeInstrumentation(ReactorInstrumentation... instrumentations) {
+        this.instrumentations = Arrays.asList(instrumentations);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        for (ReactorInstrumentation instrumentation : instrumentations) {
+            if (instrumentation.isEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object operationStarted(String operation, Class<?> entityType) {
+        Object[] contexts = new Object[instrumentations.size()];
+        for (int i = 0; i < contexts.length; i++) {
+            ReactorInstrumentation instrumentation = instrumentations.get(i);
+            if (instrumentation.isEnabled()) {
+                contexts[i] = instrumentation.operationStarted(operation, entityType);
+            }
+        }
+        return contexts;
+    }
+
+    @Override
+    public void operationFinished(Object context, String operation, Class<?> entityType, long durationNanos,
+                                  long elements, Outcome outcome, Throwable error) {
+        Object[] contexts = (Object[]) context;
+        for (int i = 0; i < contexts.length; i++) {
+            ReactorInstrumentation instrumentation = instrumentations.get(i);
+            if (instrumentation.isEnabled()) {
+                instrumentation.operationFinished(contexts[i], operation, entityType, durationNanos, elements, outcome, error);
+            }
+        }
+    }
+
+    @Override
+    public void cursorClosed(Class<?> entityType, long openNanos, long rows, Outcome outcome) {
+        for (ReactorInstrumentation instrumentation : instrumentations) {
+            if (instrumentation.isEnabled()) {
+                instrumentation.cursorClosed(entityType, openNanos, rows, outcome);
+            }
+        }
+    }
+
+    @Override
+    public void batchFlushed(String operation, Class<?> entityType, int size) {
+        for (ReactorInstrumentation instrumentation : instrumentations) {
+            if (instrumentation.isEnabled()) {
+                instrumentation.batchFlushed(operation, entityType, size);
+            }
+        }
+    }
+
+    @Override
+    public void batchSizeAdapted(String operation, Class<?> entityType, int batchSize, double rowsPerSecond) {
+        for (ReactorInstrumentation instrumentation : instrumentations) {
+            if (instrumentation.isEnabled()) {
+                instrumentation.batchSizeAdapted(operation, entityType, batchSize, rowsPerSecond);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 基于 JFR（Java Flight Recorder）自定义事件的监控实现（需要 JDK 11+）
+ * <p>
+ * 事件只会在 JFR 录制中启用了对应事件时才会提交，可以在 JDK Mission Control 中按 MyBatis-Flex Reactor 分类查看
+ *
+ * @author 林钟一六
+ */
+public class JfrInstrumentation implements ReactorInstrumentation {
+
+    @Override
+    public Object operationStarted(String operation, Class<?> entityType) {
+        OperationEvent event = new OperationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void operationFinished(Object context, String operation, Class<?> entityType, long durationNanos,
+                                  long elements, Outcome outcome, Throwable error) {
+        if (!(context instanceof OperationEvent)) {
+            return;
+        }
+        OperationEvent event = (OperationEvent) context;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.entity = entityType == null ? null : entityType.getName();
+            event.elements = elements;
+            event.outcome = outcome.name();
+            event.error = error == null ? null : error.toString();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cursorClosed(Class<?> entityType, long openNanos, long rows, Outcome outcome) {
+        CursorEvent event = new CursorEvent();
+        if (event.shouldCommit()) {
+            event.entity = entityType == null ? null : entityType.getName();
+            event.openDuration = openNanos;
+            event.rows = rows;
+            event.outcome = outcome.name();
+            event.commit();
+        }
+    }
+
+    @Override
+    public void batchFlushed(String operation, Class<?> entityType, int size) {
+        BatchEvent event = new BatchEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.entity = entityType == null ? null : entityType.getName();
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void batchSizeAdapted(String operation, Class<?> entityType, int batchSize, double rowsPerSecond) {
+        AdaptiveBatchEvent event = new AdaptiveBatchEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.entity = entityType == null ? null : entityType.getName();
+            event.batchSize = batchSize;
+            event.rowsPerSecond = rowsPerSecond;
+            event.commit();
+        }
+    }
+
+    @Name("com.mybatis.flex.reactor.Operation")
+    @Label("ReactorService Operation")
+    @Description("一次 ReactorService 操作（从订阅到结束）")
+    @Category({"MyBatis-Flex Reactor"})
+    @StackTrace(false)
+    static class OperationEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("Entity")
+        String entity;
+        @Label("Elements")
+        long elements;
+        @Label("Outcome")
+        String outcome;
+        @Label("Error")
+        String error;
+    }
+
+    @Name("com.mybatis.flex.reactor.Cursor")
+    @Label("Cursor Closed")
+    @Description("游标关闭")
+    @Category({"MyBatis-Flex Reactor"})
+    @StackTrace(false)
+    static class CursorEvent extends Event {
+        @Label("Entity")
+        String entity;
+        @Label("Open Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long openDuration;
+        @Label("Rows")
+        long rows;
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("com.mybatis.flex.reactor.Batch")
+    @Label("Batch Flushed")
+    @Description("一批数据执行并提交完成")
+    @Category({"MyBatis-Flex Reactor"})
+    @StackTrace(false)
+    static class BatchEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("Entity")
+        String entity;
+        @Label("Size")
+        int size;
+    }
+
+    @Name("com.mybatis.flex.reactor.AdaptiveBatch")
+    @Label("Adaptive Batch Size")
+    @Description("自适应批次大小完成一次调整")
+    @Category({"MyBatis-Flex Reactor"})
+    @StackTrace(false)
+    static class AdaptiveBatchEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("Entity")
+        String entity;
+        @Label("Batch Size")
+        int batchSize;
+        @Label("Rows Per Second")
+        double rowsPerSecond;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 Micrometer 的监控实现（需要自行引入 micrometer-core）
+ * <ul>
+ *     <li>{@value #OPERATION}：操作耗时（Timer），标签 operation、entity、outcome、exception</li>
+ *     <li>{@value #OPERATION_ACTIVE}：正在执行的操作数量（Gauge），标签 operation、entity</li>
+ *     <li>{@value #OPERATION_ELEMENTS}：操作发出的元素数量，如流式查询读取的行数（Counter），标签 operation、entity</li>
+ *     <li>{@value #CURSOR}：游标从打开到关闭的耗时（Timer），标签 entity、outcome</li>
+ *     <li>{@value #CURSOR_ROWS}：从游标读取的行数（Counter），标签 entity</li>
+ *     <li>{@value #BATCH_SIZE}：每批提交的数据量（DistributionSummary），标签 operation、entity</li>
+ *     <li>{@value #BATCH_ADAPTIVE_SIZE}：自适应批次大小当前的批次大小（Gauge），标签 operation、entity</li>
+ *     <li>{@value #BATCH_THROUGHPUT}：自适应批次大小观测到的每秒行数（Gauge），标签 operation、entity</li>
+ * </ul>
+ *
+ * @author 林钟一六
+ */
+public class MicrometerInstrumentation implements ReactorInstrumentation {
+
+    public static final String OPERATION = "mybatis.flex.reactor.operation";
+    public static final String OPERATION_ACTIVE = "mybatis.flex.reactor.operation.active";
+    public static final String OPERATION_ELEMENTS = "mybatis.flex.reactor.operation.elements";
+    public static final String CURSOR = "mybatis.flex.reactor.cursor";
+    public static final String CURSOR_ROWS = "mybatis.flex.reactor.cursor.rows";
+    public static final String BATCH_SIZE = "mybatis.flex.reactor.batch.size";
+    public static final String BATCH_ADAPTIVE_SIZE = "mybatis.flex.reactor.batch.adaptive.size";
+    public static final String BATCH_THROUGHPUT = "mybatis.flex.reactor.batch.throughput";
+
+    private static final String UNKNOWN = "unknown";
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, AtomicLong> active = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> adaptiveSizes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> throughputs = new ConcurrentHashMap<>();
+
+    public MicrometerInstrumentation(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object operationStarted(String operation, Class<?> entityType) {
+        activeCounter(operation, entityType).incrementAndGet();
+        return null;
+    }
+
+    @Override
+    public void operationFinished(Object context, String operation, Class<?> entityType, long durationNanos,
+                                  long elements, Outcome outcome, Throwable error) {
+        activeCounter(operation, entityType).decrementAndGet();
+        Tags tags = Tags.of("operation", operation, "entity", entityName(entityType));
+        Timer.builder(OPERATION)
+                .tags(tags)
+                .tag("outcome", outcome.name())
+                .tag("exception", error == null ? NONE : error.getClass().getSimpleName())
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (elements > 0) {
+            registry.counter(OPERATION_ELEMENTS, tags).increment(elements);
+        }
+    }
+
+    @Override
+    public void cursorClosed(Class<?> entityType, long openNanos, long rows, Outcome outcome) {
+        String entity = entityName(entityType);
+        Timer.builder(CURSOR)
+                .tag("entity", entity)
+                .tag("outcome", outcome.name())
+                .register(registry)
+                .record(openNanos, TimeUnit.NANOSECONDS);
+        if (rows > 0) {
+            registry.counter(CURSOR_ROWS, "entity", entity).increment(rows);
+        }
+    }
+
+    @Override
+    public void batchFlushed(String operation, Class<?> entityType, int size) {
+        DistributionSummary.builder(BATCH_SIZE)
+                .tags("operation", operation, "entity", entityName(entityType))
+                .register(registry)
+                .record(size);
+    }
+
+    @Override
+    public void batchSizeAdapted(String operation, Class<?> entityType, int batchSize, double rowsPerSecond) {
+        gauge(adaptiveSizes, BATCH_ADAPTIVE_SIZE, operation, entityType).set(batchSize);
+        gauge(throughputs, BATCH_THROUGHPUT, operation, entityType).set(Math.round(rowsPerSecond));
+    }
+
+    private AtomicLong gauge(ConcurrentMap<String, AtomicLong> gauges, String name, String operation, Class<?> entityType) {
+        String entity = entityName(entityType);
+        return gauges.computeIfAbsent(operation + '#' + entity, key ->
+                registry.gauge(name, Tags.of("operation", operation, "entity", entity), new AtomicLong()));
+    }
+
+    private AtomicLong activeCounter(String operation, Class<?> entityType) {
+        return gauge(active, OPERATION_ACTIVE, operation, entityType);
+    }
+
+    private static String entityName(Class<?> entityType) {
+        return entityType == null ? UNKNOWN : entityType.getSimpleName();
+    }
+}
@@ -0,0 +1,21 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+/**
+ * 操作的结束方式
+ *
+ * @author 林钟一六
+ */
+public enum Outcome {
+    /**
+     * 正常结束
+     */
+    SUCCESS,
+    /**
+     * 出错
+     */
+    ERROR,
+    /**
+     * 被下游取消
+     */
+    CANCELLED
+}
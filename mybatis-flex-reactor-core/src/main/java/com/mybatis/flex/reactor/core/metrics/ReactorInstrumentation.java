@@ -0,0 +1,92 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+/**
+ * ReactorService 操作的监控扩展点
+ * <p>
+ * 通过 {@link com.mybatis.flex.reactor.core.ReactorGlobalConfig#setInstrumentation(ReactorInstrumentation)} 设置，
+ * 默认为 {@link #NOOP}，此时不会对任何操作进行包装，几乎没有额外开销。
+ * 实现类的方法会在 JDBC 线程或订阅者线程上被调用，需要保证线程安全且不能阻塞
+ *
+ * @author 林钟一六
+ * @see MicrometerInstrumentation
+ * @see JfrInstrumentation
+ */
+public interface ReactorInstrumentation {
+
+    /**
+     * 不进行任何监控
+     */
+    ReactorInstrumentation NOOP = new ReactorInstrumentation() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * 是否启用，未启用时不会调用其他方法
+     *
+     * @return 是否启用
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * 操作被订阅
+     *
+     * @param operation  操作名（如 getById、list）
+     * @param entityType 实体类，无法确定时为 null
+     * @return 上下文对象，会在操作结束时传回 {@link #operationFinished}
+     */
+    default Object operationStarted(String operation, Class<?> entityType) {
+        return null;
+    }
+
+    /**
+     * 操作结束
+     *
+     * @param context       {@link #operationStarted} 返回的上下文对象
+     * @param operation     操作名
+     * @param entityType    实体类，无法确定时为 null
+     * @param durationNanos 从订阅到结束的耗时（纳秒）
+     * @param elements      发出的元素数量（如流式查询读取的行数）
+     * @param outcome       结束方式
+     * @param error         出错时的异常，否则为 null
+     */
+    default void operationFinished(Object context, String operation, Class<?> entityType, long durationNanos,
+                                   long elements, Outcome outcome, Throwable error) {
+    }
+
+    /**
+     * 游标关闭
+     *
+     * @param entityType 实体类，无法确定时为 null
+     * @param openNanos  游标从打开到关闭的耗时（纳秒）
+     * @param rows       读取的行数
+     * @param outcome    结束方式
+     */
+    default void cursorClosed(Class<?> entityType, long openNanos, long rows, Outcome outcome) {
+    }
+
+    /**
+     * 一批数据执行并提交完成
+     *
+     * @param operation  操作名
+     * @param entityType 实体类，无法确定时为 null
+     * @param size       该批数据的数量
+     */
+    default void batchFlushed(String operation, Class<?> entityType, int size) {
+    }
+
+    /**
+     * 自适应批次大小完成一次调整
+     *
+     * @param operation     操作名
+     * @param entityType    实体类，无法确定时为 null
+     * @param batchSize     调整后的批次大小
+     * @param rowsPerSecond 观测到的吞吐量（每秒行数）
+     */
+    default void batchSizeAdapted(String operation, Class<?> entityType, int batchSize, double rowsPerSecond) {
+    }
+}
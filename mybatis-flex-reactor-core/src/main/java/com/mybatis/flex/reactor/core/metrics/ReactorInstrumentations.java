@@ -0,0 +1,142 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+import com.mybatis.flex.reactor.core.ReactorGlobalConfig;
+import com.mybatis.flex.reactor.core.batch.AdaptiveBatchSizer;
+import com.mybatis.flex.reactor.core.utils.EntityUtils;
+import com.mybatisflex.core.BaseMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 使用全局配置的 {@link ReactorInstrumentation} 对操作进行监控
+ * <p>
+ * 监控未启用时直接返回原 Publisher，不增加任何操作符
+ *
+ * @author 林钟一六
+ */
+public final class ReactorInstrumentations {
+
+    /**
+     * 被监控的 Flux 操作所属实体类在 Context 中的 key，游标关闭时据此记录实体类
+     */
+    public static final String ENTITY_TYPE_KEY = ReactorInstrumentations.class.getName() + ".ENTITY_TYPE";
+
+    private ReactorInstrumentations() {
+    }
+
+    /**
+     * 监控一个 Mono 操作
+     *
+     * @param source    操作
+     * @param operation 操作名
+     * @param mapper    操作所属的 Mapper（用于获取实体类）
+     * @param <T>       结果泛型
+     * @return 被监控的操作
+     */
+    public static <T> Mono<T> mono(Mono<T> source, String operation, BaseMapper<?> mapper) {
+        ReactorInstrumentation instrumentation = ReactorGlobalConfig.getDefaultConfig().getInstrumentation();
+        if (!instrumentation.isEnabled()) {
+            return source;
+        }
+        return Mono.defer(() -> {
+            Tracker tracker = new Tracker(instrumentation, operation, EntityUtils.getEntityClass(mapper));
+            return source
+                    .doOnSuccess(value -> {
+                        if (value != null) {
+                            tracker.elements++;
+                        }
+                        tracker.finish(Outcome.SUCCESS, null);
+                    })
+                    .doOnError(e -> tracker.finish(Outcome.ERROR, e))
+                    .doOnCancel(() -> tracker.finish(Outcome.CANCELLED, null));
+        });
+    }
+
+    /**
+     * 监控一个 Flux 操作
+     *
+     * @param source    操作
+     * @param operation 操作名
+     * @param mapper    操作所属的 Mapper（用于获取实体类）
+     * @param <T>       元素泛型
+     * @return 被监控的操作
+     */
+    public static <T> Flux<T> flux(Flux<T> source, String operation, BaseMapper<?> mapper) {
+        ReactorInstrumentation instrumentation = ReactorGlobalConfig.getDefaultConfig().getInstrumentation();
+        if (!instrumentation.isEnabled()) {
+            return source;
+        }
+        Class<?> entityType = EntityUtils.getEntityClass(mapper);
+        Flux<T> tracked = Flux.defer(() -> {
+            Tracker tracker = new Tracker(instrumentation, operation, entityType);
+            return source
+                    .doOnNext(value -> tracker.elements++)
+                    .doOnComplete(() -> tracker.finish(Outcome.SUCCESS, null))
+                    .doOnError(e -> tracker.finish(Outcome.ERROR, e))
+                    .doOnCancel(() -> tracker.finish(Outcome.CANCELLED, null));
+        });
+        return entityType == null ? tracked : tracked.contextWrite(Context.of(ENTITY_TYPE_KEY, entityType));
+    }
+
+    /**
+     * 记录一批数据执行并提交完成
+     *
+     * @param operation 操作名
+     * @param mapper    操作所属的 Mapper（用于获取实体类）
+     * @param size      该批数据的数量
+     */
+    public static void batchFlushed(String operation, BaseMapper<?> mapper, int size) {
+        ReactorInstrumentation instrumentation = ReactorGlobalConfig.getDefaultConfig().getInstrumentation();
+        if (instrumentation.isEnabled()) {
+            instrumentation.batchFlushed(operation, EntityUtils.getEntityClass(mapper), size);
+        }
+    }
+
+    /**
+     * 记录自适应批次大小完成一次调整
+     *
+     * @param operation 操作名
+     * @param mapper    操作所属的 Mapper（用于获取实体类）
+     * @param sizer     自适应批次大小
+     */
+    public static void batchSizeAdapted(String operation, BaseMapper<?> mapper, AdaptiveBatchSizer sizer) {
+        ReactorInstrumentation instrumentation = ReactorGlobalConfig.getDefaultConfig().getInstrumentation();
+        if (instrumentation.isEnabled()) {
+            instrumentation.batchSizeAdapted(operation, EntityUtils.getEntityClass(mapper), sizer.getCurrentSize(), sizer.getRowsPerSecond());
+        }
+    }
+
+    /**
+     * 单次订阅的监控状态
+     */
+    private static class Tracker {
+        private final ReactorInstrumentation instrumentation;
+        private final String operation;
+        private final Class<?> entityType;
+        private final Object context;
+        private final long start;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        /**
+         * onNext 信号是串行的，取消时读取到的数量可能略有滞后
+         */
+        private volatile long elements;
+
+        private Tracker(ReactorInstrumentation instrumentation, String operation, Class<?> entityType) {
+            this.instrumentation = instrumentation;
+            this.operation = operation;
+            this.entityType = entityType;
+            this.context = instrumentation.operationStarted(operation, entityType);
+            this.start = System.nanoTime();
+        }
+
+        private void finish(Outcome outcome, Throwable error) {
+            if (finished.compareAndSet(false, true)) {
+                instrumentation.operationFinished(context, operation, entityType, System.nanoTime() - start,
+                        elements, outcome, error);
+            }
+        }
+    }
+}
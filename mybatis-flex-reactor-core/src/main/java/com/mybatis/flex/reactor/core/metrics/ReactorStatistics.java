@@ -0,0 +1,65 @@
+package com.mybatis.flex.reactor.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 响应式操作的全局统计信息
+ * <p>
+ * 主要用于观察被中途取消的游标流，排查由于下游断开而长时间占用连接的问题
+ *
+ * @author 林钟一六
+ */
+public final class ReactorStatistics {
+
+    /**
+     * 当前仍处于打开状态的游标数量
+     */
+    private static final LongAdder OPEN_CURSORS = new LongAdder();
+    /**
+     * 被下游取消的游标数量
+     */
+    private static final LongAdder CANCELLED_CURSORS = new LongAdder();
+    /**
+     * 下游取消后仍从游标中读取出的数据行数
+     */
+    private static final LongAdder ROWS_READ_AFTER_CANCEL = new LongAdder();
+
+    private ReactorStatistics() {
+    }
+
+    public static void cursorOpened() {
+        OPEN_CURSORS.increment();
+    }
+
+    public static void cursorClosed() {
+        OPEN_CURSORS.decrement();
+    }
+
+    public static void cursorCancelled() {
+        CANCELLED_CURSORS.increment();
+    }
+
+    public static void rowReadAfterCancel() {
+        ROWS_READ_AFTER_CANCEL.increment();
+    }
+
+    public static long getOpenCursors() {
+        return OPEN_CURSORS.sum();
+    }
+
+    public static long getCancelledCursors() {
+        return CANCELLED_CURSORS.sum();
+    }
+
+    public static long getRowsReadAfterCancel() {
+        return ROWS_READ_AFTER_CANCEL.sum();
+    }
+
+    /**
+     * 重置累计的计数（不包括当前打开的游标数量）
+     */
+    public static void reset() {
+        CANCELLED_CURSORS.reset();
+        ROWS_READ_AFTER_CANCEL.reset();
+    }
+}
@@ -0,0 +1,187 @@
+package com.mybatis.flex.reactor.core.routing;
+
+import com.mybatis.flex.reactor.core.ReactorGlobalConfig;
+import com.mybatis.flex.reactor.core.session.ReactorSession;
+import com.mybatisflex.core.datasource.DataSourceKey;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 读写分离：将只读操作路由到从库（基于 MyBatis-Flex 多数据源的 {@link DataSourceKey}）
+ * <p>
+ * 读操作使用的数据源按以下顺序确定：
+ * <ol>
+ *     <li>在会话（{@link ReactorSession}）或事务中：主库（与写操作共用连接）</li>
+ *     <li>Context 中开启了 {@link #readYourWrites()} 且其中已经执行过写操作：主库</li>
+ *     <li>单次调用通过 {@link #primary()} / {@link #replica(String)} 指定的数据源</li>
+ *     <li>Service 通过 {@code ReactorService#getReadDataSourceKey()} 指定的数据源</li>
+ *     <li>全局配置 {@link ReactorGlobalConfig#getReadDataSourceKey()}，为 null 时使用主库（默认）</li>
+ * </ol>
+ * 写操作始终使用当前线程的默认数据源
+ *
+ * @author 林钟一六
+ */
+public final class ReadRouting {
+
+    /**
+     * 单次调用指定的读数据源在 Context 中的 key
+     */
+    public static final String CONTEXT_KEY = ReadRouting.class.getName() + ".KEY";
+
+    /**
+     * Service 指定的读数据源在 Context 中的 key
+     */
+    public static final String SERVICE_KEY = ReadRouting.class.getName() + ".SERVICE_KEY";
+
+    /**
+     * 读己之写状态在 Context 中的 key
+     */
+    public static final String STICKY_KEY = ReadRouting.class.getName() + ".STICKY";
+
+    /**
+     * 表示使用主库的标记
+     */
+    private static final String PRIMARY = ReadRouting.class.getName() + ".PRIMARY";
+
+    private ReadRouting() {
+    }
+
+    /**
+     * 本次调用的读操作使用主库，如 {@code service.list(query).contextWrite(ReadRouting.primary())}
+     *
+     * @return Context
+     */
+    public static Context primary() {
+        return Context.of(CONTEXT_KEY, PRIMARY);
+    }
+
+    /**
+     * 本次调用的读操作使用指定的数据源，如 {@code service.list(query).contextWrite(ReadRouting.replica("report"))}
+     *
+     * @param dataSourceKey 数据源 key
+     * @return Context
+     */
+    public static Context replica(String dataSourceKey) {
+        return Context.of(CONTEXT_KEY, dataSourceKey == null ? PRIMARY : dataSourceKey);
+    }
+
+    /**
+     * 开启读己之写：Context 中执行过写操作后，之后的读操作都使用主库，避免从库复制延迟导致读不到刚写入的数据
+     * <p>
+     * 需要写在整个操作链的末尾（即写操作与读操作的下游），如 {@code save(a).then(getById(id)).contextWrite(ReadRouting.readYourWrites())}
+     *
+     * @return Context
+     */
+    public static Context readYourWrites() {
+        return Context.of(STICKY_KEY, new AtomicBoolean());
+    }
+
+    /**
+     * Service 指定的读数据源
+     *
+     * @param dataSourceKey 数据源 key，为 null 时使用主库
+     * @return Context
+     */
+    public static Context service(String dataSourceKey) {
+        return Context.of(SERVICE_KEY, dataSourceKey == null ? PRIMARY : dataSourceKey);
+    }
+
+    /**
+     * 确定读操作使用的数据源
+     *
+     * @param context          订阅链的 Context
+     * @param defaultKey       Context 中没有单次调用或 Service 的设置时使用的数据源 key，为 null 时使用主库
+     * @return 数据源 key，为 null 时使用主库（即不切换数据源）
+     */
+    public static String resolve(ContextView context, String defaultKey) {
+        if (ReactorSession.current(context) != null) {
+            return null;
+        }
+        AtomicBoolean written = context.getOrDefault(STICKY_KEY, null);
+        if (written != null && written.get()) {
+            return null;
+        }
+        String key = context.getOrDefault(CONTEXT_KEY, null);
+        if (key == null) {
+            key = context.getOrDefault(SERVICE_KEY, defaultKey);
+        }
+        return PRIMARY.equals(key) ? null : key;
+    }
+
+    /**
+     * 确定读操作使用的数据源（使用全局配置作为默认值）
+     *
+     * @param context 订阅链的 Context
+     * @return 数据源 key，为 null 时使用主库（即不切换数据源）
+     */
+    public static String resolve(ContextView context) {
+        return resolve(context, ReactorGlobalConfig.getDefaultConfig().getReadDataSourceKey());
+    }
+
+    /**
+     * 记录 Context 中执行了写操作（开启了读己之写时生效）
+     *
+     * @param context 订阅链的 Context
+     */
+    public static void markWritten(ContextView context) {
+        AtomicBoolean written = context.getOrDefault(STICKY_KEY, null);
+        if (written != null) {
+            written.set(true);
+        }
+    }
+
+    /**
+     * 在指定的数据源上执行阻塞操作，执行后恢复当前线程原有的数据源
+     *
+     * @param dataSourceKey 数据源 key，为 null 时直接执行
+     * @param task          阻塞操作
+     * @param <T>           结果泛型
+     * @return 操作结果
+     * @throws Exception 操作抛出的异常
+     */
+    public static <T> T call(String dataSourceKey, Callable<T> task) throws Exception {
+        if (dataSourceKey == null) {
+            return task.call();
+        }
+        String previous = DataSourceKey.get();
+        DataSourceKey.use(dataSourceKey);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                DataSourceKey.clear();
+            } else {
+                DataSourceKey.use(previous);
+            }
+        }
+    }
+
+    /**
+     * 在指定的数据源上执行阻塞操作，执行后恢复当前线程原有的数据源
+     *
+     * @param dataSourceKey 数据源 key，为 null 时直接执行
+     * @param supplier      阻塞操作
+     * @param <T>           结果泛型
+     * @return 操作结果
+     */
+    public static <T> T supply(String dataSourceKey, Supplier<T> supplier) {
+        if (dataSourceKey == null) {
+            return supplier.get();
+        }
+        String previous = DataSourceKey.get();
+        DataSourceKey.use(dataSourceKey);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                DataSourceKey.clear();
+            } else {
+                DataSourceKey.use(previous);
+            }
+        }
+    }
+}
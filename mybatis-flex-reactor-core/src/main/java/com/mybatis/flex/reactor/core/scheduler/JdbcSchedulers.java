@@ -0,0 +1,163 @@
+package com.mybatis.flex.reactor.core.scheduler;
+
+import com.mybatisflex.core.FlexGlobalConfig;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 执行阻塞 JDBC 操作的调度器工具
+ *
+ * @author 林钟一六
+ */
+public final class JdbcSchedulers {
+
+    /**
+     * 调度器线程名前缀
+     */
+    public static final String THREAD_NAME_PREFIX = "mybatis-flex-reactor-jdbc";
+
+    /**
+     * 游标调度器线程名前缀
+     */
+    public static final String CURSOR_THREAD_NAME_PREFIX = "mybatis-flex-reactor-cursor";
+
+    /**
+     * 常见连接池获取最大连接数的方法名（Hikari、Druid、DBCP、C3P0 等）
+     */
+    private static final String[] POOL_SIZE_GETTERS = {"getMaximumPoolSize", "getMaxActive", "getMaxTotal", "getMaxPoolSize"};
+
+    private JdbcSchedulers() {
+    }
+
+    /**
+     * 创建一个有界的 JDBC 调度器
+     * <p>
+     * 线程数与任务队列均有上限，队列已满时新的任务会被拒绝，订阅者将收到 {@link java.util.concurrent.RejectedExecutionException}。
+     * boundedElastic 的队列上限是按线程计算的，这里将总上限平均分配到每个线程（每个线程至少 1 个）
+     *
+     * @param poolSize  最大线程数（建议与连接池最大连接数一致）
+     * @param queueSize 所有线程排队任务数量上限
+     * @return 调度器
+     */
+    public static Scheduler newBounded(int poolSize, int queueSize) {
+        return newBounded(poolSize, queueSize, THREAD_NAME_PREFIX);
+    }
+
+    /**
+     * 创建一个有界的 JDBC 调度器，并指定线程名前缀
+     *
+     * @param poolSize   最大线程数（建议与连接池最大连接数一致）
+     * @param queueSize  所有线程排队任务数量上限
+     * @param namePrefix 线程名前缀
+     * @return 调度器
+     * @see #newBounded(int, int)
+     */
+    public static Scheduler newBounded(int poolSize, int queueSize, String namePrefix) {
+        return Schedulers.newBoundedElastic(poolSize, Math.max(1, queueSize / poolSize), namePrefix, 60, true);
+    }
+
+    /**
+     * 创建一个基于虚拟线程的 JDBC 调度器（需要 JDK 21+）
+     * <p>
+     * 每个任务运行在独立的虚拟线程上，阻塞的 JDBC 调用不会占用平台线程；
+     * 同时运行的任务数量受许可数量限制，等待许可的任务数量超出上限后会被拒绝
+     *
+     * @param permits   同时访问数据库的任务数量上限（建议与连接池最大连接数一致）
+     * @param queueSize 等待许可的任务数量上限
+     * @return 调度器
+     * @throws IllegalStateException 当前 JDK 不支持虚拟线程
+     */
+    public static Scheduler newVirtual(int permits, int queueSize) {
+        return newVirtual(permits, queueSize, THREAD_NAME_PREFIX);
+    }
+
+    /**
+     * 创建一个基于虚拟线程的 JDBC 调度器（需要 JDK 21+），并指定调度器名前缀
+     *
+     * @param permits    同时访问数据库的任务数量上限（建议与连接池最大连接数一致）
+     * @param queueSize  等待许可的任务数量上限
+     * @param namePrefix 调度器名前缀
+     * @return 调度器
+     * @throws IllegalStateException 当前 JDK 不支持虚拟线程
+     * @see #newVirtual(int, int)
+     */
+    public static Scheduler newVirtual(int permits, int queueSize, String namePrefix) {
+        ExecutorService executor = new PermitLimitedExecutorService(newVirtualThreadPerTaskExecutor(), permits, queueSize);
+        return Schedulers.fromExecutorService(executor, namePrefix + "-virtual");
+    }
+
+    /**
+     * 当前 JDK 是否支持虚拟线程
+     *
+     * @return 是否支持
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 尝试从 Mybatis Flex 当前使用的 DataSource 中获取连接池最大连接数
+     *
+     * @return 最大连接数，无法获取时返回 -1
+     */
+    public static int detectPoolSize() {
+        try {
+            return detectPoolSize(FlexGlobalConfig.getDefaultConfig().getConfiguration().getEnvironment().getDataSource());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 尝试从 DataSource 中获取连接池最大连接数
+     *
+     * @param dataSource 数据源
+     * @return 最大连接数，无法获取时返回 -1
+     */
+    public static int detectPoolSize(Object dataSource) {
+        if (dataSource == null) {
+            return -1;
+        }
+        for (String getter : POOL_SIZE_GETTERS) {
+            Object size = invokeGetter(dataSource, getter);
+            if (size instanceof Number && ((Number) size).intValue() > 0) {
+                return ((Number) size).intValue();
+            }
+        }
+        // FlexDataSource 等包装数据源，取其默认的数据源
+        Object target = invokeGetter(dataSource, "getDefaultDataSource");
+        if (target != null && target != dataSource) {
+            return detectPoolSize(target);
+        }
+        return -1;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // 通过反射调用，保证在 JDK 21 以下的环境中也可以正常编译与运行（不开启虚拟线程时）
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or later, current is " + System.getProperty("java.version"), e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Can not create virtual thread executor", e);
+        }
+    }
+
+    private static Object invokeGetter(Object target, String name) {
+        try {
+            Method method = target.getClass().getMethod(name);
+            return method.invoke(target);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mybatis.flex.reactor.core.scheduler;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 限制同时运行任务数量的 ExecutorService
+ * <p>
+ * 任务会立即交给被包装的 ExecutorService（通常是每个任务一个虚拟线程），
+ * 在真正执行前需要先获取许可，许可数量一般与连接池大小一致，因此同时访问数据库的任务不会超过连接数。
+ * 等待许可的任务数量同样有上限，超出后任务会被拒绝
+ *
+ * @author 林钟一六
+ */
+class PermitLimitedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * @param delegate  实际执行任务的 ExecutorService
+     * @param permits   同时运行的任务数量上限
+     * @param queueSize 等待许可的任务数量上限
+     */
+    PermitLimitedExecutorService(ExecutorService delegate, int permits, int queueSize) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(permits);
+        this.maxPending = permits + queueSize;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("Too many pending JDBC tasks, limit is " + maxPending);
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // 在等待许可时被取消
+                    pending.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,329 @@
+package com.mybatis.flex.reactor.core.session;
+
+import com.mybatis.flex.reactor.core.ReactorGlobalConfig;
+import com.mybatisflex.core.row.Db;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 响应式会话：在同一个连接（同一个线程）上依次执行一组 ReactorService 操作
+ * <p>
+ * 会话会占用调度器中的一个线程并在该线程上开启事务，此后订阅链 Context 中带有该会话的所有 ReactorService 操作
+ * （包括游标读取）都会被提交到该线程上执行，从而共用同一个连接，避免每次操作都从连接池中借还连接。
+ * MyBatis-Flex 只能通过事务把连接绑定到线程上，因此会话总是在一个事务中执行：订阅链正常结束时提交，出错或取消时回滚。
+ * <p>
+ * 注意：会话中的操作是串行执行的；游标在等待下游需求时会执行会话中排队的其他操作，
+ * 但同一会话中的两个游标无法交替读取（如 zip 两个 list），请避免在会话中同时消费多个游标
+ *
+ * @author 林钟一六
+ */
+public class ReactorSession {
+
+    /**
+     * 会话在 Reactor Context 中的 key
+     */
+    public static final String CONTEXT_KEY = ReactorSession.class.getName();
+
+    private static final Logger LOGGER = Loggers.getLogger(ReactorSession.class);
+
+    private final Queue<Task> tasks = new ArrayDeque<>();
+    private final Sinks.Empty<Void> done = Sinks.empty();
+
+    /**
+     * 会话绑定的线程（开启事务并持有连接的线程）
+     */
+    private volatile Thread thread;
+    private boolean closed;
+    private boolean commit;
+    private volatile boolean rollbackOnly;
+    /**
+     * 会话是否已交给订阅者（只在会话线程上访问）
+     */
+    private boolean opened;
+
+    private ReactorSession() {
+    }
+
+    /**
+     * 获取 Context 中的会话
+     *
+     * @param context Reactor Context
+     * @return 会话，不存在时返回 null
+     */
+    public static ReactorSession current(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 在一个会话中执行（使用全局调度器）
+     *
+     * @param work 需要执行的操作
+     * @param <T>  结果泛型
+     * @return 操作结果
+     */
+    public static <T> Mono<T> within(Mono<T> work) {
+        return within(work, ReactorGlobalConfig.getDefaultConfig().getScheduler());
+    }
+
+    /**
+     * 在一个会话中执行
+     * <p>
+     * 若 Context 中已存在会话，则直接复用外层会话
+     *
+     * @param work      需要执行的操作
+     * @param scheduler 会话线程所在的调度器
+     * @param <T>       结果泛型
+     * @return 操作结果
+     */
+    public static <T> Mono<T> within(Mono<T> work, Scheduler scheduler) {
+        return Mono.deferContextual(context -> {
+            if (current(context) != null) {
+                return work;
+            }
+            return Mono.usingWhen(open(scheduler),
+                    session -> work.contextWrite(ctx -> ctx.put(CONTEXT_KEY, session)),
+                    session -> session.release(true),
+                    (session, error) -> session.release(false),
+                    session -> session.release(false));
+        });
+    }
+
+    /**
+     * 在一个会话中执行（使用全局调度器）
+     *
+     * @param work 需要执行的操作
+     * @param <T>  结果泛型
+     * @return 操作结果
+     */
+    public static <T> Flux<T> within(Flux<T> work) {
+        return within(work, ReactorGlobalConfig.getDefaultConfig().getScheduler());
+    }
+
+    /**
+     * 在一个会话中执行
+     * <p>
+     * 若 Context 中已存在会话，则直接复用外层会话
+     *
+     * @param work      需要执行的操作
+     * @param scheduler 会话线程所在的调度器
+     * @param <T>       结果泛型
+     * @return 操作结果
+     */
+    public static <T> Flux<T> within(Flux<T> work, Scheduler scheduler) {
+        return Flux.deferContextual(context -> {
+            if (current(context) != null) {
+                return work;
+            }
+            return Flux.usingWhen(open(scheduler),
+                    session -> work.contextWrite(ctx -> ctx.put(CONTEXT_KEY, session)),
+                    session -> session.release(true),
+                    (session, error) -> session.release(false),
+                    session -> session.release(false));
+        });
+    }
+
+    /**
+     * 开启一个会话：在调度器中占用一个线程开启事务，并持续执行提交到会话中的操作直到会话被释放
+     *
+     * @param scheduler 会话线程所在的调度器
+     * @return 会话
+     */
+    private static Mono<ReactorSession> open(Scheduler scheduler) {
+        return Mono.create(sink -> {
+            ReactorSession session = new ReactorSession();
+            sink.onCancel(() -> session.close(false));
+            try {
+                scheduler.schedule(() -> session.run(sink));
+            } catch (RejectedExecutionException e) {
+                sink.error(e);
+            }
+        });
+    }
+
+    private void run(MonoSink<ReactorSession> sink) {
+        thread = Thread.currentThread();
+        try {
+            Db.tx(() -> {
+                opened = true;
+                sink.success(this);
+                return loop();
+            });
+            done.tryEmitEmpty();
+        } catch (Throwable e) {
+            if (!opened) {
+                // 开启事务失败（如无法获取连接）时会话尚未交给订阅者，需要直接结束订阅，否则订阅者会一直等待
+                sink.error(e);
+            }
+            abort(e);
+            done.tryEmitError(e);
+        }
+    }
+
+    /**
+     * 会话线程异常退出：拒绝之后提交的操作，并以该异常结束所有排队中的操作，否则它们的订阅者会一直等待
+     */
+    private void abort(Throwable error) {
+        List<Task> pending;
+        synchronized (this) {
+            closed = true;
+            pending = new ArrayList<>(tasks);
+            tasks.clear();
+        }
+        pending.forEach(task -> task.fail(error));
+    }
+
+    private boolean loop() {
+        while (true) {
+            if (!runPending()) {
+                synchronized (this) {
+                    if (closed && tasks.isEmpty()) {
+                        return commit && !rollbackOnly;
+                    }
+                }
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    /**
+     * 在会话线程上执行当前排队的所有操作（只能在会话线程上调用）
+     *
+     * @return 是否执行了操作
+     */
+    public boolean runPending() {
+        boolean ran = false;
+        Task task;
+        while ((task = poll()) != null) {
+            ran = true;
+            try {
+                task.runnable.run();
+            } catch (Throwable e) {
+                // 任务本应自行处理异常，这里兜底，避免一个任务的异常结束会话线程
+                task.fail(e);
+            }
+        }
+        return ran;
+    }
+
+    private synchronized Task poll() {
+        return tasks.poll();
+    }
+
+    /**
+     * 将一个阻塞操作提交到会话线程上执行
+     *
+     * @param task 阻塞操作（返回 null 时 Mono 为空）
+     * @param <T>  结果泛型
+     * @return 操作结果
+     */
+    public <T> Mono<T> submit(Callable<T> task) {
+        return Mono.create(sink -> execute(() -> {
+            T result;
+            try {
+                result = task.call();
+            } catch (Throwable e) {
+                sink.error(e);
+                return;
+            }
+            sink.success(result);
+        }, sink::error));
+    }
+
+    /**
+     * 将一个任务提交到会话线程上执行
+     *
+     * @param task     任务（需要自行处理异常）
+     * @param rejected 会话已结束、会话线程异常退出或任务抛出异常时的回调
+     */
+    public void execute(Runnable task, Consumer<Throwable> rejected) {
+        synchronized (this) {
+            if (closed) {
+                rejected.accept(new IllegalStateException("ReactorSession is already closed"));
+                return;
+            }
+            tasks.add(new Task(task, rejected));
+        }
+        Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 当前线程是否为会话线程
+     *
+     * @return 是否为会话线程
+     */
+    public boolean isSessionThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * 标记事务只能回滚（如复用外层事务的内层操作失败），会话结束时不会提交
+     */
+    public void setRollbackOnly() {
+        this.rollbackOnly = true;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    private Mono<Void> release(boolean success) {
+        return Mono.defer(() -> {
+            close(success);
+            return done.asMono();
+        });
+    }
+
+    private void close(boolean commit) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            this.closed = true;
+            this.commit = commit;
+        }
+        Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 排队中的任务
+     */
+    private static class Task {
+        private final Runnable runnable;
+        private final Consumer<Throwable> failure;
+
+        private Task(Runnable runnable, Consumer<Throwable> failure) {
+            this.runnable = runnable;
+            this.failure = failure;
+        }
+
+        private void fail(Throwable error) {
+            try {
+                failure.accept(error);
+            } catch (Throwable e) {
+                // 回调中的异常不能影响其他任务与会话线程
+                LOGGER.error("ReactorSession task failure callback failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mybatis.flex.reactor.core.session;
+
+import com.mybatis.flex.reactor.core.ReactorGlobalConfig;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 响应式事务
+ * <p>
+ * 将一个订阅链中的所有 ReactorService 操作放到同一个事务中执行（绑定到同一个连接），无需使用阻塞的 Db.tx 包裹整个流程：
+ * <pre>{@code
+ * ReactorTx.inTransaction(
+ *         accountService.save(account)
+ *                 .then(logService.save(log))
+ * )
+ * }</pre>
+ * <ul>
+ *     <li>订阅链正常结束时提交，出错或被取消时回滚</li>
+ *     <li>嵌套调用会加入外层事务；内层出错时外层事务只能回滚（即使外层处理了该异常）</li>
+ * </ul>
+ *
+ * @author 林钟一六
+ * @see ReactorSession
+ */
+public class ReactorTx {
+
+    private ReactorTx() {
+    }
+
+    /**
+     * 在事务中执行（使用全局调度器）
+     *
+     * @param work 需要执行的操作
+     * @param <T>  结果泛型
+     * @return 操作结果
+     */
+    public static <T> Mono<T> inTransaction(Mono<T> work) {
+        return inTransaction(work, ReactorGlobalConfig.getDefaultConfig().getScheduler());
+    }
+
+    /**
+     * 在事务中执行
+     *
+     * @param work      需要执行的操作
+     * @param scheduler 事务线程所在的调度器（仅在开启新事务时使用）
+     * @param <T>       结果泛型
+     * @return 操作结果
+     */
+    public static <T> Mono<T> inTransaction(Mono<T> work, Scheduler scheduler) {
+        return Mono.deferContextual(context -> {
+            ReactorSession outer = ReactorSession.current(context);
+            if (outer != null) {
+                return work.doOnError(e -> outer.setRollbackOnly());
+            }
+            return ReactorSession.within(work, scheduler);
+        });
+    }
+
+    /**
+     * 在事务中执行（使用全局调度器）
+     *
+     * @param work 需要执行的操作
+     * @param <T>  结果泛型
+     * @return 操作结果
+     */
+    public static <T> Flux<T> inTransaction(Flux<T> work) {
+        return inTransaction(work, ReactorGlobalConfig.getDefaultConfig().getScheduler());
+    }
+
+    /**
+     * 在事务中执行
+     *
+     * @param work      需要执行的操作
+     * @param scheduler 事务线程所在的调度器（仅在开启新事务时使用）
+     * @param <T>       结果泛型
+     * @return 操作结果
+     */
+    public static <T> Flux<T> inTransaction(Flux<T> work, Scheduler scheduler) {
+        return Flux.deferContextual(context -> {
+            ReactorSession outer = ReactorSession.current(context);
+            if (outer != null) {
+                return work.doOnError(e -> outer.setRollbackOnly());
+            }
+            return ReactorSession.within(work, scheduler);
+        });
+    }
+
+    /**
+     * 当前订阅链是否处于事务中
+     *
+     * @return 是否处于事务中
+     */
+    public static Mono<Boolean> isActive() {
+        return Mono.deferContextual(context -> Mono.just(ReactorSession.current(context) != null));
+    }
+}
@@ -0,0 +1,93 @@
+package com.mybatis.flex.reactor.core.utils;
+
+import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.table.IdInfo;
+import com.mybatisflex.core.table.TableInfo;
+import com.mybatisflex.core.table.TableInfoFactory;
+import com.mybatisflex.core.util.ClassUtil;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.util.List;
+
+/**
+ * 实体类与表信息相关的工具
+ *
+ * @author 林钟一六
+ */
+public class EntityUtils {
+
+    /**
+     * 获取 Mapper 对应的表信息
+     *
+     * @param mapper Mapper 对象
+     * @return 表信息
+     */
+    public static TableInfo getTableInfo(BaseMapper<?> mapper) {
+        return TableInfoFactory.ofMapperClass(ClassUtil.getUsefulClass(mapper.getClass()));
+    }
+
+    /**
+     * 获取 Mapper 对应的实体类
+     *
+     * @param mapper Mapper 对象
+     * @return 实体类，无法确定时返回 null
+     */
+    public static Class<?> getEntityClass(BaseMapper<?> mapper) {
+        TableInfo tableInfo = mapper == null ? null : getTableInfo(mapper);
+        return tableInfo == null ? null : tableInfo.getEntityClass();
+    }
+
+    /**
+     * 获取表的唯一主键
+     *
+     * @param tableInfo 表信息
+     * @return 主键信息
+     * @throws IllegalStateException 表没有主键或为复合主键
+     */
+    public static IdInfo getSinglePrimaryKey(TableInfo tableInfo) {
+        List<IdInfo> primaryKeys = tableInfo.getPrimaryKeyList();
+        if (primaryKeys == null || primaryKeys.size() != 1) {
+            throw new IllegalStateException("Table " + tableInfo.getTableName() + " must have exactly one primary key, but got "
+                    + (primaryKeys == null ? 0 : primaryKeys.size()));
+        }
+        return primaryKeys.get(0);
+    }
+
+    /**
+     * 获取实体类对象的属性值
+     *
+     * @param entity   实体类对象
+     * @param property 属性名
+     * @return 属性值
+     */
+    public static Object getPropertyValue(Object entity, String property) {
+        return SystemMetaObject.forObject(entity).getValue(property);
+    }
+
+    /**
+     * 计算多值插入（INSERT ... VALUES (...), (...)）单条语句最多可以包含多少行数据
+     *
+     * @param tableInfo     表信息
+     * @param maxParameters 单条语句允许的最大参数数量
+     * @param batchSize     期望的每批行数
+     * @return 不超过参数数量上限的每批行数
+     */
+    public static int getMaxRowsPerStatement(TableInfo tableInfo, int maxParameters, int batchSize) {
+        int columns = tableInfo.getColumnInfoList().size() + tableInfo.getPrimaryKeyList().size();
+        return Math.max(1, Math.min(batchSize, maxParameters / Math.max(1, columns)));
+    }
+
+    /**
+     * 计算主键 IN 查询单条语句最多可以包含多少个主键
+     *
+     * @param maxParameters 单条语句允许的最大参数数量
+     * @param chunkSize     期望的每块主键数量
+     * @return 不超过参数数量上限的每块主键数量
+     */
+    public static int getMaxIdsPerStatement(int maxParameters, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0, but got " + chunkSize);
+        }
+        return Math.min(chunkSize, maxParameters);
+    }
+}
@@ -0,0 +1,112 @@
+package com.mybatis.flex.reactor.core.utils;
+
+import com.mybatisflex.core.query.CPI;
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryCondition;
+import com.mybatisflex.core.query.QueryWrapper;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按范围拆分查询相关的工具
+ *
+ * @author 林钟一六
+ */
+public class PartitionUtils {
+
+    /**
+     * 将闭区间 [min, max] 均分为 partitions 段，返回段与段之间的分割点
+     *
+     * @param min        最小值
+     * @param max        最大值
+     * @param partitions 段数
+     * @return 升序且不重复的分割点（数量最多为 partitions - 1，区间过小时会更少）
+     */
+    public static List<Long> splitRange(long min, long max, int partitions) {
+        if (partitions <= 1 || max <= min) {
+            return Collections.emptyList();
+        }
+        BigInteger lower = BigInteger.valueOf(min);
+        BigInteger span = BigInteger.valueOf(max).subtract(lower).add(BigInteger.ONE);
+        BigInteger count = BigInteger.valueOf(partitions);
+        List<Long> points = new ArrayList<>(partitions - 1);
+        long last = min;
+        for (int i = 1; i < partitions; i++) {
+            long point = lower.add(span.multiply(BigInteger.valueOf(i)).divide(count)).longValue();
+            if (point > last && point <= max) {
+                points.add(point);
+                last = point;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * 按分割点将查询拆分为多个范围查询：(-∞, p1)、[p1, p2)、...、[pn, +∞)
+     *
+     * @param query       原查询（不会被修改，不能包含 limit，原有条件会被括号包裹后再追加范围条件）
+     * @param column      用于拆分的列（需要有索引）
+     * @param splitPoints 升序的分割点
+     * @param ordered     是否在每个范围内按该列升序排序（原有排序会被替换）
+     * @return splitPoints.size() + 1 个范围查询
+     */
+    public static List<QueryWrapper> splitQuery(QueryWrapper query, QueryColumn column, List<?> splitPoints, boolean ordered) {
+        if (CPI.getLimitRows(query) != null) {
+            throw new IllegalArgumentException("Range partitioned query does not support limit");
+        }
+        List<QueryWrapper> ranges = new ArrayList<>(splitPoints.size() + 1);
+        for (int i = 0; i <= splitPoints.size(); i++) {
+            QueryWrapper range = bracketWhere(query);
+            if (i > 0) {
+                range.and(column.ge(splitPoints.get(i - 1)));
+            }
+            if (i < splitPoints.size()) {
+                range.and(column.lt(splitPoints.get(i)));
+            }
+            if (ordered) {
+                CPI.setOrderBys(range, null);
+                range.orderBy(column.asc());
+            }
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /**
+     * 复制查询，并将原有的 where 条件整体用括号包裹
+     * <p>
+     * 直接在原条件后 and 范围条件时，若原条件的顶层包含 or（如 {@code a = 1 OR b = 2}），
+     * 追加的条件只会与最后一个 or 分支结合（{@code a = 1 OR b = 2 AND id > 10}），范围限制会失效
+     *
+     * @param query 原查询（不会被修改）
+     * @return 新的查询，之后追加的条件与原条件之间是 and 关系
+     */
+    public static QueryWrapper bracketWhere(QueryWrapper query) {
+        QueryWrapper copy = query.clone();
+        QueryCondition where = CPI.getWhereQueryCondition(copy);
+        if (where != null) {
+            CPI.setWhereQueryCondition(copy, null);
+            copy.and(wrapper -> wrapper.where(where));
+        }
+        return copy;
+    }
+
+    /**
+     * 基于原查询的条件构建一个聚合查询（如 min / max），原有的查询列、排序与 limit 会被移除
+     *
+     * @param query     原查询（不会被修改）
+     * @param aggregate 聚合列
+     * @return 聚合查询
+     */
+    public static QueryWrapper aggregateQuery(QueryWrapper query, QueryColumn aggregate) {
+        QueryWrapper aggregateQuery = query.clone();
+        CPI.setSelectColumns(aggregateQuery, null);
+        CPI.setOrderBys(aggregateQuery, null);
+        CPI.setLimitRows(aggregateQuery, null);
+        CPI.setLimitOffset(aggregateQuery, null);
+        return aggregateQuery.select(aggregate);
+    }
+}
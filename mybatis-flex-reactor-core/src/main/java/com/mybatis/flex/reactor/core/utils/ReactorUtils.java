@@ -1,14 +1,41 @@
 package com.mybatis.flex.reactor.core.utils;
 
+import com.mybatis.flex.reactor.core.ReactorGlobalConfig;
+import com.mybatis.flex.reactor.core.cursor.CursorOptions;
+import com.mybatis.flex.reactor.core.cursor.CursorStatementInterceptor;
+import com.mybatis.flex.reactor.core.metrics.Outcome;
+import com.mybatis.flex.reactor.core.metrics.ReactorInstrumentation;
+import com.mybatis.flex.reactor.core.metrics.ReactorInstrumentations;
+import com.mybatis.flex.reactor.core.metrics.ReactorStatistics;
+import com.mybatis.flex.reactor.core.routing.ReadRouting;
+import com.mybatis.flex.reactor.core.session.ReactorSession;
+import com.mybatis.flex.reactor.core.wrapper.UpdateResult;
+import com.mybatisflex.core.FlexGlobalConfig;
+import com.mybatisflex.core.exception.FlexExceptions;
 import com.mybatisflex.core.row.Db;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
-import java.util.concurrent.ExecutionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
 
 public class ReactorUtils {
     /**
@@ -34,39 +61,352 @@ public class ReactorUtils {
     }
 
     /**
-     * 直接获取 Mono 的值
+     * 直接获取 Mono 的值（堵塞当前线程直到 Mono 完成）
+     * <p>
+     * Mono 出错时抛出原始的异常（受检异常会被包装为 MybatisFlexException）
      *
      * @param mono 目标 Mono
      * @param <T>  值泛型
      * @return Mono 中的值
+     * @throws IllegalStateException 在非阻塞线程（如 Netty 事件循环、parallel 调度器）上调用
      */
     public static <T> T runBlock(Mono<T> mono) {
+        return runBlock(mono, null);
+    }
+
+    /**
+     * 直接获取 Mono 的值（堵塞当前线程直到 Mono 完成或超时）
+     * <p>
+     * Mono 出错时抛出原始的异常（受检异常会被包装为 MybatisFlexException），超时后会取消 Mono 并抛出 IllegalStateException
+     *
+     * @param mono    目标 Mono
+     * @param timeout 最长等待时间，为 null 时一直等待
+     * @param <T>     值泛型
+     * @return Mono 中的值
+     * @throws IllegalStateException 在非阻塞线程（如 Netty 事件循环、parallel 调度器）上调用，或等待超时
+     */
+    public static <T> T runBlock(Mono<T> mono, Duration timeout) {
+        if (Schedulers.isInNonBlockingThread()) {
+            // 在事件循环上堵塞等待 JDBC 结果可能会耗尽事件循环线程甚至死锁，直接失败
+            throw new IllegalStateException("runBlock() is blocking, which is not supported in non-blocking thread "
+                    + Thread.currentThread().getName() + ", compose the Mono instead");
+        }
         try {
-            return mono.toFuture().get();
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException(e);
+            return timeout == null ? mono.block() : mono.block(timeout);
+        } catch (RuntimeException e) {
+            Throwable cause = Exceptions.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw FlexExceptions.wrap(cause);
         }
     }
 
     /**
-     * 将 Cursor 转为 Flux
+     * 使用一个 BATCH 模式的 SqlSession 执行一批数据并提交，提交完成后返回每条数据的结果
+     * <p>
+     * 在 BATCH 模式下，Mapper 方法的返回值在 flush 之前并不是真实的影响行数，
+     * 所以这里使用 flush 后 JDBC 返回的 update counts 作为每条数据的影响行数。
+     * 若操作中包含查询（如 insertOrUpdate 会先查询数据是否存在），MyBatis 在查询前会自行 flush 并丢弃这部分 update counts，
+     * 此时收集到的 update counts 少于数据条数、无法与数据一一对应，只能确认整批数据已成功提交，影响行数均记为
+     * {@link Statement#SUCCESS_NO_INFO}（Db.executeBatch 会把剩余的位置填为 0 并错位，因此这里自行 flush 并收集）
+     *
+     * @param entities    数据集合
+     * @param batchSize   每次 flush 的记录数
+     * @param mapperClass Mapper 类型
+     * @param operation   对单条数据执行的操作
+     * @param <M>         Mapper 泛型
+     * @param <E>         数据泛型
+     * @return 每条数据的结果
+     */
+    public static <M, E> List<UpdateResult<E>> executeBatch(Collection<E> entities, int batchSize, Class<M> mapperClass, ToIntBiFunction<M, E> operation) {
+        int[] updateCounts = new int[entities.size()];
+        int collected = 0;
+        SqlSessionFactory sqlSessionFactory = FlexGlobalConfig.getDefaultConfig().getSqlSessionFactory();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            M mapper = sqlSession.getMapper(mapperClass);
+            int pending = 0;
+            for (E entity : entities) {
+                operation.applyAsInt(mapper, entity);
+                if (++pending >= batchSize) {
+                    collected = collectUpdateCounts(sqlSession.flushStatements(), updateCounts, collected);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                collected = collectUpdateCounts(sqlSession.flushStatements(), updateCounts, collected);
+            }
+            sqlSession.commit();
+        }
+        boolean aligned = collected == entities.size();
+        List<UpdateResult<E>> results = new ArrayList<>(entities.size());
+        int index = 0;
+        for (E entity : entities) {
+            results.add(new UpdateResult<>(aligned ? updateCounts[index++] : Statement.SUCCESS_NO_INFO, entity));
+        }
+        return results;
+    }
+
+    /**
+     * 按顺序收集一次 flush 返回的 update counts
+     *
+     * @param batchResults flush 的结果
+     * @param updateCounts 收集的目标数组，超出数组长度的部分只计数
+     * @param collected    已收集的数量
+     * @return 收集后的数量
+     */
+    private static int collectUpdateCounts(List<BatchResult> batchResults, int[] updateCounts, int collected) {
+        for (BatchResult batchResult : batchResults) {
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                if (collected < updateCounts.length) {
+                    updateCounts[collected] = updateCount;
+                }
+                collected++;
+            }
+        }
+        return collected;
+    }
+
+    /**
+     * 将 Cursor 转为 Flux（使用全局配置的预取数量）
      *
      * @param supplier mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
      * @param <T>    游标泛型
      * @return Flux
+     * @see ReactorGlobalConfig#getDefaultPrefetch()
      */
     public static <T> Flux<T> cursorToFlux(Supplier<Cursor<T>> supplier) {
-        return Flux.create(emitter -> Db.tx(() -> {
-            try(Cursor<T> cursor = supplier.get()) {
-                for (T it : cursor) {
+        return cursorToFlux(supplier, ReactorGlobalConfig.getDefaultConfig().getDefaultPrefetch());
+    }
+
+    /**
+     * 将 Cursor 转为 Flux
+     * <p>
+     * 游标只会按照下游 request(n) 的需求推进，没有需求时读取线程挂起等待，
+     * 因此慢速的下游不会导致数据在 Reactor 缓冲区中无限堆积。
+     * 下游取消（如 WebFlux 客户端断开连接）时会立即停止读取、关闭游标并结束事务
+     *
+     * @param supplier mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
+     * @param prefetch 预取数量（高水位），最多从游标中预先读取多少条尚未被下游消费的数据
+     * @param <T>    游标泛型
+     * @return Flux
+     */
+    public static <T> Flux<T> cursorToFlux(Supplier<Cursor<T>> supplier, int prefetch) {
+        return cursorToFlux(supplier, prefetch, ReactorGlobalConfig.getDefaultConfig().getCursorScheduler());
+    }
+
+    /**
+     * 将 Cursor 转为 Flux
+     * <p>
+     * 游标只会按照下游 request(n) 的需求推进，没有需求时读取线程挂起等待，
+     * 因此慢速的下游不会导致数据在 Reactor 缓冲区中无限堆积。
+     * 下游取消（如 WebFlux 客户端断开连接）时会立即停止读取、关闭游标并结束事务
+     *
+     * @param supplier  mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
+     * @param prefetch  预取数量（高水位），最多从游标中预先读取多少条尚未被下游消费的数据
+     * @param scheduler 读取游标所使用的调度器（读取线程会挂起等待下游需求，不要与执行普通操作的有界调度器共用）
+     * @param <T>     游标泛型
+     * @return Flux
+     */
+    public static <T> Flux<T> cursorToFlux(Supplier<Cursor<T>> supplier, int prefetch, Scheduler scheduler) {
+        return cursorToFlux(supplier, prefetch, ReactorGlobalConfig.getDefaultConfig().getCursorOptions(), scheduler);
+    }
+
+    /**
+     * 将 Cursor 转为 Flux，并指定打开游标时的 JDBC 语句选项
+     *
+     * @param supplier  mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
+     * @param prefetch  预取数量（高水位），最多从游标中预先读取多少条尚未被下游消费的数据
+     * @param options   JDBC 语句选项（fetch size 等），需要注册 {@link CursorStatementInterceptor} 后才会生效
+     * @param scheduler 读取游标所使用的调度器
+     * @param <T>       游标泛型
+     * @return Flux
+     * @see #cursorToFlux(Supplier, int, Scheduler)
+     */
+    public static <T> Flux<T> cursorToFlux(Supplier<Cursor<T>> supplier, int prefetch, CursorOptions options, Scheduler scheduler) {
+        return cursorToFlux(supplier, Iterator::next, prefetch, options, scheduler);
+    }
+
+    /**
+     * 将 Cursor 转为按块发送的 Flux（使用全局配置的预取数量与调度器）
+     *
+     * @param supplier  mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
+     * @param chunkSize 每块的记录数
+     * @param <T>       游标泛型
+     * @return Flux，除最后一块外每块都包含 chunkSize 条记录
+     */
+    public static <T> Flux<List<T>> cursorToChunkedFlux(Supplier<Cursor<T>> supplier, int chunkSize) {
+        return cursorToChunkedFlux(supplier, chunkSize, ReactorGlobalConfig.getDefaultConfig().getCursorScheduler());
+    }
+
+    /**
+     * 将 Cursor 转为按块发送的 Flux
+     * <p>
+     * 游标中的数据直接读入预先分配好容量的 List，每块只产生一次 onNext 信号，
+     * 相比 {@code cursorToFlux(...).buffer(n)} 省去了逐条经过操作符的开销。
+     * 预取的块数按全局预取数量换算（至少 2 块，读取下一块的同时下游可以处理当前块）
+     *
+     * @param supplier  mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
+     * @param chunkSize 每块的记录数
+     * @param scheduler 读取游标所使用的调度器
+     * @param <T>       游标泛型
+     * @return Flux，除最后一块外每块都包含 chunkSize 条记录
+     */
+    public static <T> Flux<List<T>> cursorToChunkedFlux(Supplier<Cursor<T>> supplier, int chunkSize, Scheduler scheduler) {
+        return cursorToChunkedFlux(supplier, chunkSize, ReactorGlobalConfig.getDefaultConfig().getCursorOptions(), scheduler);
+    }
+
+    /**
+     * 将 Cursor 转为按块发送的 Flux，并指定打开游标时的 JDBC 语句选项
+     *
+     * @param supplier  mybatis 游标对象（此处请传入一个函数，如果是将游标变量传入会导致抛出游标已关闭异常）
+     * @param chunkSize 每块的记录数
+     * @param options   JDBC 语句选项（fetch size 等），需要注册 {@link CursorStatementInterceptor} 后才会生效
+     * @param scheduler 读取游标所使用的调度器
+     * @param <T>       游标泛型
+     * @return Flux，除最后一块外每块都包含 chunkSize 条记录
+     * @see #cursorToChunkedFlux(Supplier, int, Scheduler)
+     */
+    public static <T> Flux<List<T>> cursorToChunkedFlux(Supplier<Cursor<T>> supplier, int chunkSize, CursorOptions options,
+                                                        Scheduler scheduler) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0, but got " + chunkSize);
+        }
+        int prefetchChunks = Math.max(2, ReactorGlobalConfig.getDefaultConfig().getDefaultPrefetch() / chunkSize);
+        return cursorToFlux(supplier, iterator -> {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            do {
+                chunk.add(iterator.next());
+            } while (chunk.size() < chunkSize && iterator.hasNext());
+            return chunk;
+        }, prefetchChunks, options, scheduler);
+    }
+
+    /**
+     * 将 Cursor 转为 Flux，每次满足下游的一个需求时使用 reader 从游标中读取一个元素
+     *
+     * @param supplier  游标
+     * @param reader    从游标中读取一个元素（调用时游标中至少还有一条数据）
+     * @param prefetch  预取的元素数量
+     * @param options   JDBC 语句选项
+     * @param scheduler 读取游标所使用的调度器（读取线程会挂起等待下游需求，不要与执行普通操作的有界调度器共用）
+     * @param <T>       游标泛型
+     * @param <R>       元素泛型
+     * @return Flux
+     */
+    private static <T, R> Flux<R> cursorToFlux(Supplier<Cursor<T>> supplier, Function<Iterator<T>, R> reader,
+                                               int prefetch, CursorOptions options, Scheduler scheduler) {
+        return Flux.deferContextual(context -> {
+            ReactorSession session = ReactorSession.current(context);
+            Class<?> entityType = context.getOrDefault(ReactorInstrumentations.ENTITY_TYPE_KEY, null);
+            if (session != null) {
+                // 会话中的游标在会话线程上读取，等待下游需求时继续执行会话中排队的其他操作
+                return Flux.<R>create(emitter -> session.execute(() -> readCursor(supplier, reader, options, emitter, session, entityType), emitter::error))
+                        .limitRate(prefetch);
+            }
+            // 开启读写分离时在从库上打开游标（连接在打开游标时获取，之后的读取不依赖当前线程的数据源）
+            String dataSourceKey = ReadRouting.resolve(context);
+            Supplier<Cursor<T>> cursorSupplier = dataSourceKey == null ? supplier : () -> ReadRouting.supply(dataSourceKey, supplier);
+            return Flux.<R>create(emitter -> Db.tx(() -> readCursor(cursorSupplier, reader, options, emitter, null, entityType)))
+                    // 读取线程会在没有需求时挂起，所以不能占用订阅者的线程，且 request 不能排队到读取线程上执行
+                    .subscribeOn(scheduler, false)
+                    .limitRate(prefetch);
+        });
+    }
+
+    /**
+     * 在当前线程读取游标并发送给下游
+     *
+     * @param supplier   游标
+     * @param reader     从游标中读取一个元素
+     * @param options    JDBC 语句选项
+     * @param emitter    目标 emitter
+     * @param session    当前所在的会话，不在会话中时为 null
+     * @param entityType 监控记录的实体类，无法确定时为 null
+     * @param <T>        游标泛型
+     * @param <R>        元素泛型
+     * @return 是否需要提交事务（出错或下游取消时返回 false）
+     */
+    private static <T, R> boolean readCursor(Supplier<Cursor<T>> supplier, Function<Iterator<T>, R> reader, CursorOptions options,
+                                             FluxSink<R> emitter, ReactorSession session, Class<?> entityType) {
+        // 游标必须在开启事务的线程中读取，下游的 request 与取消只负责唤醒该线程
+        Thread readerThread = Thread.currentThread();
+        emitter.onRequest(n -> LockSupport.unpark(readerThread));
+        emitter.onDispose(() -> LockSupport.unpark(readerThread));
+        if (emitter.isCancelled()) {
+            return false;
+        }
+        ReactorInstrumentation instrumentation = ReactorGlobalConfig.getDefaultConfig().getInstrumentation();
+        boolean instrumented = instrumentation.isEnabled();
+        long openedAt = instrumented ? System.nanoTime() : 0;
+        long rows = 0;
+        Outcome outcome = Outcome.SUCCESS;
+        ReactorStatistics.cursorOpened();
+        try (Cursor<T> cursor = openCursor(supplier, options)) {
+            try {
+                Iterator<T> iterator = cursor.iterator();
+                while (awaitDemand(emitter, session) && iterator.hasNext()) {
+                    R it = reader.apply(iterator);
+                    if (emitter.isCancelled()) {
+                        ReactorStatistics.rowReadAfterCancel();
+                        break;
+                    }
                     emitter.next(it);
                 }
-            } catch (Exception e) {
-                emitter.error(e);
-                return false;
+            } finally {
+                rows = cursor.getCurrentIndex() + 1;
+            }
+        } catch (Exception e) {
+            outcome = Outcome.ERROR;
+            emitter.error(e);
+            return false;
+        } finally {
+            ReactorStatistics.cursorClosed();
+            if (instrumented) {
+                instrumentation.cursorClosed(entityType, System.nanoTime() - openedAt, rows,
+                        outcome == Outcome.SUCCESS && emitter.isCancelled() ? Outcome.CANCELLED : outcome);
+            }
+        }
+        if (emitter.isCancelled()) {
+            // 下游已取消：游标已随 try 关闭，返回 false 回滚并结束事务，尽快归还连接
+            ReactorStatistics.cursorCancelled();
+            return false;
+        }
+        emitter.complete();
+        return true;
+    }
+
+    /**
+     * 打开游标，打开期间当前线程创建的语句会应用游标选项
+     */
+    private static <T> Cursor<T> openCursor(Supplier<Cursor<T>> supplier, CursorOptions options) {
+        CursorOptions.set(options);
+        try {
+            return supplier.get();
+        } finally {
+            CursorOptions.clear();
+        }
+    }
+
+    /**
+     * 挂起当前线程，直到下游存在需求或已取消
+     *
+     * @param emitter 目标 emitter
+     * @param session 当前所在的会话，等待期间会执行会话中排队的操作，不在会话中时为 null
+     * @return 是否可以继续发送数据（false 表示下游已取消）
+     */
+    private static boolean awaitDemand(FluxSink<?> emitter, ReactorSession session) {
+        while (emitter.requestedFromDownstream() == 0 && !emitter.isCancelled()) {
+            if (session == null || !session.runPending()) {
+                LockSupport.park(emitter);
             }
-            emitter.complete();
-            return true;
-        }));
+        }
+        return !emitter.isCancelled();
     }
 }
@@ -0,0 +1,49 @@
+package com.mybatis.flex.reactor.core.wrapper;
+
+/**
+ * 分块更新 / 删除中每一块的执行结果
+ *
+ * @author 林钟一六
+ */
+public class ChunkResult {
+
+    /**
+     * 本块影响行数
+     */
+    private final int rows;
+    /**
+     * 截止到本块（包含）累计影响行数
+     */
+    private final long totalRows;
+    /**
+     * 本块处理到的主键（包含），可以作为起始键从下一块继续执行；最后一块没有上界，此时为该块的起始键
+     */
+    private final Object lastKey;
+    /**
+     * 是否还有下一块
+     */
+    private final boolean hasNext;
+
+    public ChunkResult(int rows, long totalRows, Object lastKey, boolean hasNext) {
+        this.rows = rows;
+        this.totalRows = totalRows;
+        this.lastKey = lastKey;
+        this.hasNext = hasNext;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public Object getLastKey() {
+        return lastKey;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mybatis.flex.reactor.core.wrapper;
+
+import java.util.List;
+
+/**
+ * 键集（Seek）分页结果
+ * <p>
+ * 与 OFFSET 分页不同，下一页通过“大于上一页最后一条数据的键”查询，每一页的开销只与页大小有关，与页的深度无关
+ *
+ * @param <Entity> 数据泛型
+ * @author 林钟一六
+ */
+public class KeysetPage<Entity> {
+
+    /**
+     * 该页数据
+     */
+    private final List<Entity> records;
+    /**
+     * 该页最后一条数据的键，作为查询下一页的游标（该页无数据时为查询该页所用的键）
+     */
+    private final Object nextKey;
+    /**
+     * 是否还有下一页
+     */
+    private final boolean hasNext;
+
+    public KeysetPage(List<Entity> records, Object nextKey, boolean hasNext) {
+        this.records = records;
+        this.nextKey = nextKey;
+        this.hasNext = hasNext;
+    }
+
+    public List<Entity> getRecords() {
+        return records;
+    }
+
+    public Object getNextKey() {
+        return nextKey;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
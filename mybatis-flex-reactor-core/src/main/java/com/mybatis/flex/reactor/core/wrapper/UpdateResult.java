@@ -1,5 +1,7 @@
 package com.mybatis.flex.reactor.core.wrapper;
 
+import java.sql.Statement;
+
 /**
  * 更新操作结果
  * @author 林钟一六
@@ -7,7 +9,7 @@ package com.mybatis.flex.reactor.core.wrapper;
 public class UpdateResult<Entity> {
 
     /**
-     * 更新影响行数
+     * 更新影响行数（为 {@link Statement#SUCCESS_NO_INFO} 时表示执行成功，但驱动未返回具体的影响行数）
      */
     private final int rows;
     /**
@@ -20,9 +22,13 @@ public class UpdateResult<Entity> {
     private final boolean isSuccess;
 
     public UpdateResult(int rows, Entity entity) {
+        this(rows, entity, rows > 0 || rows == Statement.SUCCESS_NO_INFO);
+    }
+
+    public UpdateResult(int rows, Entity entity, boolean isSuccess) {
         this.rows = rows;
         this.entity = entity;
-        this.isSuccess = rows > 0;
+        this.isSuccess = isSuccess;
     }
 
     public int getRows() {
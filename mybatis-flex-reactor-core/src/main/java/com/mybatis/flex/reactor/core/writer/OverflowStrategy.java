@@ -0,0 +1,21 @@
+package com.mybatis.flex.reactor.core.writer;
+
+/**
+ * 异步写入队列已满时的处理策略
+ *
+ * @author 林钟一六
+ */
+public enum OverflowStrategy {
+    /**
+     * 丢弃新的数据（offer 返回 false）
+     */
+    DROP,
+    /**
+     * 阻塞调用方直到队列有空位（不能在非阻塞线程上使用）
+     */
+    BLOCK,
+    /**
+     * 抛出溢出异常
+     */
+    ERROR
+}
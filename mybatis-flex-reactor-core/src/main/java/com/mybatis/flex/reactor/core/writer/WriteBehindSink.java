@@ -0,0 +1,377 @@
+package com.mybatis.flex.reactor.core.writer;
+
+import com.mybatis.flex.reactor.core.ReactorService;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * 异步批量写入（write-behind）
+ * <p>
+ * 多个调用方通过 {@link #offer(Object)} 提交数据，数据先进入有界队列，攒满 batchSize 条或每隔 flushInterval
+ * 合并为一次 saveBatch 写入（同一时间只会执行一批），适合日志等允许延迟落库的大量写入。
+ * 可以通过 maxRowsPerSecond 限制写入速度，避免突发流量压垮数据库；队列已满时按 {@link OverflowStrategy} 处理。
+ * 关闭时会停止接收新数据，并把队列中剩余的数据全部写入
+ *
+ * @param <Entity> 实体类泛型
+ * @author 林钟一六
+ */
+public class WriteBehindSink<Entity> implements AutoCloseable {
+
+    private static final Logger LOGGER = Loggers.getLogger(WriteBehindSink.class);
+
+    private final ReactorService<Entity> service;
+    private final int batchSize;
+    private final boolean ignoreNulls;
+    private final long maxRowsPerSecond;
+    private final OverflowStrategy overflowStrategy;
+    private final Duration shutdownTimeout;
+    private final BiConsumer<List<Entity>, Throwable> errorHandler;
+
+    private final BlockingQueue<Entity> queue;
+    private final Sinks.Many<Long> trigger = Sinks.many().unicast().onBackpressureBuffer();
+    private final Sinks.Empty<Void> stopped = Sinks.empty();
+    private final Sinks.Empty<Void> terminated = Sinks.empty();
+    private volatile boolean closed;
+    /**
+     * offer 持有读锁，关闭时持有写锁
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /**
+     * 下一批允许开始写入的时间（System.nanoTime），只在串行的写入流程中访问
+     */
+    private long nextWriteAt = System.nanoTime();
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private WriteBehindSink(Builder<Entity> builder) {
+        this.service = builder.service;
+        this.batchSize = builder.batchSize;
+        this.ignoreNulls = builder.ignoreNulls;
+        this.maxRowsPerSecond = builder.maxRowsPerSecond;
+        this.overflowStrategy = builder.overflowStrategy;
+        this.shutdownTimeout = builder.shutdownTimeout;
+        this.errorHandler = builder.errorHandler;
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        Flux.merge(Flux.interval(builder.flushInterval, builder.flushInterval), trigger.asFlux())
+                // 关闭时不能通过 complete 结束 trigger：与 offer 并发发出触发信号时 complete 会失败，写入流程永远不会结束
+                .takeUntilOther(stopped.asMono())
+                // 正在写入时到达的触发信号直接丢弃，写入完成后会继续写入已攒满的批次
+                .onBackpressureDrop()
+                .concatMap(tick -> flushFullBatches(true), 1)
+                // 关闭时等待正在写入的批次完成，不能直接取消，否则已从队列取出的数据会丢失
+                .doFinally(signal -> terminated.tryEmitEmpty())
+                .subscribe();
+    }
+
+    /**
+     * 创建异步批量写入的构建器
+     *
+     * @param service  ReactorService
+     * @param <Entity> 实体类泛型
+     * @return 构建器
+     */
+    public static <Entity> Builder<Entity> builder(ReactorService<Entity> service) {
+        return new Builder<>(service);
+    }
+
+    /**
+     * 提交一条数据
+     *
+     * @param entity 实体类对象
+     * @return 是否已进入队列（DROP 策略下队列已满时返回 false）
+     * @throws IllegalStateException 已关闭，或 ERROR 策略下队列已满，或 BLOCK 策略下在非阻塞线程上调用
+     */
+    public boolean offer(Entity entity) {
+        Lock lock = closeLock.readLock();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("WriteBehindSink is already closed");
+            }
+            if (!queue.offer(entity)) {
+                switch (overflowStrategy) {
+                    case BLOCK:
+                        if (Schedulers.isInNonBlockingThread()) {
+                            throw new IllegalStateException("WriteBehindSink with BLOCK strategy can not block in non-blocking thread "
+                                    + Thread.currentThread().getName());
+                        }
+                        try {
+                            queue.put(entity);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw Exceptions.propagate(e);
+                        }
+                        break;
+                    case ERROR:
+                        dropped.increment();
+                        throw Exceptions.failWithOverflow("WriteBehindSink queue is full (capacity " + (queue.size() + queue.remainingCapacity()) + ")");
+                    default:
+                        dropped.increment();
+                        return false;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (queue.size() >= batchSize) {
+            // 并发触发失败时说明已有触发信号正在传递，可以忽略
+            trigger.tryEmitNext(0L);
+        }
+        return true;
+    }
+
+    /**
+     * 写入所有已攒满的批次（至少写入一批）
+     *
+     * @param paced 是否限速
+     */
+    private Mono<Void> flushFullBatches(boolean paced) {
+        return flushOnce(paced)
+                .repeat(() -> !closed && queue.size() >= batchSize)
+                .then();
+    }
+
+    private Mono<Void> flushOnce(boolean paced) {
+        return Mono.defer(() -> {
+            List<Entity> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, queue.size())));
+            queue.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                return Mono.empty();
+            }
+            Mono<Void> write = Mono.defer(() -> service.saveBatch(batch, ignoreNulls, batchSize)
+                    .doOnNext(result -> (result.isSuccess() ? written : failed).increment())
+                    .then())
+                    .onErrorResume(e -> {
+                        failed.add(batch.size());
+                        try {
+                            errorHandler.accept(batch, e);
+                        } catch (Throwable handlerError) {
+                            // 回调抛出的异常不能传播到写入流程中，否则之后的数据都不会再被写入
+                            LOGGER.error("WriteBehindSink error handler failed", handlerError);
+                        }
+                        return Mono.empty();
+                    });
+            long delay = paced ? reserve(batch.size()) : 0;
+            return delay > 0 ? Mono.delay(Duration.ofNanos(delay)).then(write) : write;
+        });
+    }
+
+    /**
+     * 按限速预留写入时间
+     *
+     * @param rows 本批行数
+     * @return 需要等待的时间（纳秒）
+     */
+    private long reserve(int rows) {
+        if (maxRowsPerSecond <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long start = Math.max(now, nextWriteAt);
+        nextWriteAt = start + TimeUnit.SECONDS.toNanos(rows) / maxRowsPerSecond;
+        return start - now;
+    }
+
+    /**
+     * 停止接收新数据，并将队列中剩余的数据全部写入（不限速）
+     * <p>
+     * 会在订阅时等待正在执行的 offer 完成（BLOCK 策略下被阻塞的 offer 会在队列腾出空间后完成），最多等待 shutdownTimeout。
+     * 超时后仍会停止接收新数据并写入队列中已有的数据，但之后才入队的数据可能不会被写入，返回的 Mono 以
+     * {@link IllegalStateException} 结束
+     *
+     * @return 写入完成的信号
+     */
+    public Mono<Void> shutdown() {
+        return Mono.defer(() -> {
+            // 与 offer 互斥：之后不会再有数据进入队列，已经通过检查的 offer 也已完成入队，最后一次清空队列时不会遗漏数据
+            Lock lock = closeLock.writeLock();
+            boolean locked;
+            try {
+                locked = lock.tryLock(shutdownTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                locked = false;
+            }
+            closed = true;
+            if (locked) {
+                lock.unlock();
+            }
+            stopped.tryEmitEmpty();
+            Mono<Void> drained = terminated.asMono().then(flushOnce(false).repeat(() -> !queue.isEmpty()).then());
+            return locked ? drained : drained.then(Mono.error(new IllegalStateException(
+                    "WriteBehindSink timed out after " + shutdownTimeout + " waiting for pending offers, later offered data may be lost")));
+        });
+    }
+
+    /**
+     * 停止接收新数据，并阻塞等待队列中剩余的数据写入完成
+     * <p>
+     * 等待正在执行的 offer 与等待写入完成各自最多 shutdownTimeout，超时时抛出 {@link IllegalStateException}
+     */
+    @Override
+    public void close() {
+        shutdown().block(shutdownTimeout);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 当前队列中等待写入的数量
+     *
+     * @return 等待写入的数量
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * 已成功写入的数量
+     *
+     * @return 已成功写入的数量
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * 写入失败的数量
+     *
+     * @return 写入失败的数量
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 因队列已满被丢弃（或拒绝）的数量
+     *
+     * @return 被丢弃的数量
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 异步批量写入构建器
+     *
+     * @param <Entity> 实体类泛型
+     */
+    public static class Builder<Entity> {
+
+        private final ReactorService<Entity> service;
+        private int batchSize = ReactorService.DEFAULT_BATCH_SIZE;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private int queueCapacity = 10000;
+        private OverflowStrategy overflowStrategy = OverflowStrategy.DROP;
+        private long maxRowsPerSecond = 0;
+        private boolean ignoreNulls = true;
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+        private BiConsumer<List<Entity>, Throwable> errorHandler = (batch, e) ->
+                LOGGER.error("WriteBehindSink failed to save " + batch.size() + " rows", e);
+
+        private Builder(ReactorService<Entity> service) {
+            this.service = service;
+        }
+
+        /**
+         * @param batchSize 攒满多少条立即写入（同时也是每批写入的最大数量），默认 {@link ReactorService#DEFAULT_BATCH_SIZE}
+         */
+        public Builder<Entity> batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("batchSize must be greater than 0, but got " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param flushInterval 未攒满时的最长等待时间，默认 1 秒
+         */
+        public Builder<Entity> flushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * @param queueCapacity 队列容量，默认 10000
+         */
+        public Builder<Entity> queueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("queueCapacity must be greater than 0, but got " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * @param overflowStrategy 队列已满时的处理策略，默认 {@link OverflowStrategy#DROP}
+         */
+        public Builder<Entity> overflowStrategy(OverflowStrategy overflowStrategy) {
+            this.overflowStrategy = overflowStrategy;
+            return this;
+        }
+
+        /**
+         * @param maxRowsPerSecond 每秒最多写入的行数，小于等于 0 时不限速（默认）
+         */
+        public Builder<Entity> maxRowsPerSecond(long maxRowsPerSecond) {
+            this.maxRowsPerSecond = maxRowsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param ignoreNulls 是否忽略空值，默认 true
+         */
+        public Builder<Entity> ignoreNulls(boolean ignoreNulls) {
+            this.ignoreNulls = ignoreNulls;
+            return this;
+        }
+
+        /**
+         * @param shutdownTimeout 关闭时等待正在执行的 offer、以及 {@link #close()} 等待写入完成的最长时间，默认 30 秒
+         */
+        public Builder<Entity> shutdownTimeout(Duration shutdownTimeout) {
+            this.shutdownTimeout = shutdownTimeout;
+            return this;
+        }
+
+        /**
+         * @param errorHandler 某批数据写入失败时的回调，默认记录错误日志
+         */
+        public Builder<Entity> onError(BiConsumer<List<Entity>, Throwable> errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * 创建并启动异步批量写入
+         *
+         * @return 异步批量写入
+         */
+        public WriteBehindSink<Entity> build() {
+            return new WriteBehindSink<>(this);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mybatis.flex.reactor.core;
+
+import com.mybatis.flex.reactor.core.support.Account;
+import com.mybatis.flex.reactor.core.support.AccountService;
+import com.mybatis.flex.reactor.core.support.TestDatabase;
+import com.mybatis.flex.reactor.core.wrapper.UpdateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 林钟一六
+ */
+class ReactorServiceBatchTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AccountService service = new AccountService();
+
+    @BeforeAll
+    static void start() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void reset() {
+        TestDatabase.reset();
+    }
+
+    private static Account account(Long id, String userName) {
+        Account account = new Account(userName, 1);
+        account.setId(id);
+        return account;
+    }
+
+    @Test
+    void saveBatchReportsRowsPerEntity() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            accounts.add(new Account("user-" + i, i));
+        }
+
+        List<UpdateResult<Account>> results = service.saveBatch(accounts, false, 10).collectList().block(TIMEOUT);
+
+        assertEquals(accounts.size(), results.size());
+        results.forEach(result -> {
+            assertEquals(1, result.getRows());
+            assertTrue(result.isSuccess());
+        });
+        assertEquals(accounts.size(), TestDatabase.count(TestDatabase.primary()));
+    }
+
+    @Test
+    void updateBatchReportsMissingRows() {
+        TestDatabase.insertRows(TestDatabase.primary(), 3, "user-");
+        List<Account> accounts = List.of(account(1L, "a"), account(2L, "b"), account(404L, "missing"), account(3L, "c"));
+
+        List<UpdateResult<Account>> results = service.updateBatch(accounts, true, 2).collectList().block(TIMEOUT);
+
+        assertEquals(accounts.size(), results.size());
+        for (UpdateResult<Account> result : results) {
+            boolean missing = result.getEntity().getId() == 404L;
+            assertEquals(missing ? 0 : 1, result.getRows());
+            assertEquals(!missing, result.isSuccess());
+        }
+    }
+}
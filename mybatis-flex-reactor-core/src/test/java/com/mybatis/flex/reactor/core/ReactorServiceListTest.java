@@ -0,0 +1,124 @@
+package com.mybatis.flex.reactor.core;
+
+import com.mybatis.flex.reactor.core.metrics.Outcome;
+import com.mybatis.flex.reactor.core.metrics.ReactorInstrumentation;
+import com.mybatis.flex.reactor.core.metrics.ReactorStatistics;
+import com.mybatis.flex.reactor.core.scheduler.JdbcSchedulers;
+import com.mybatis.flex.reactor.core.support.Account;
+import com.mybatis.flex.reactor.core.support.AccountService;
+import com.mybatis.flex.reactor.core.support.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 林钟一六
+ */
+class ReactorServiceListTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @BeforeAll
+    static void start() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void reset() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void slowSubscriberBoundsRowsRead() throws InterruptedException {
+        int prefetch = 16;
+        int total = prefetch * 20;
+        TestDatabase.insertRows(TestDatabase.primary(), total, "user-");
+        AtomicLong rowsRead = new AtomicLong(-1);
+        AtomicReference<Class<?>> cursorEntity = new AtomicReference<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        ReactorGlobalConfig.getDefaultConfig().setInstrumentation(new ReactorInstrumentation() {
+            @Override
+            public void cursorClosed(Class<?> entityType, long openNanos, long rows, Outcome outcome) {
+                cursorEntity.set(entityType);
+                rowsRead.set(rows);
+                closed.countDown();
+            }
+        });
+        try {
+            CountDownLatch received = new CountDownLatch(1);
+            BaseSubscriber<Account> subscriber = new BaseSubscriber<Account>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    request(1);
+                }
+
+                @Override
+                protected void hookOnNext(Account value) {
+                    received.countDown();
+                }
+            };
+            new AccountService().list(QueryWrapper.create(), prefetch).subscribe(subscriber);
+
+            assertTrue(received.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            // 给读取线程留出时间，没有背压时它会在这段时间内读完整张表
+            Thread.sleep(200);
+            subscriber.dispose();
+
+            assertTrue(closed.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            assertTrue(rowsRead.get() > 0 && rowsRead.get() <= prefetch, () -> "rows read: " + rowsRead.get());
+            assertEquals(Account.class, cursorEntity.get());
+        } finally {
+            ReactorGlobalConfig.getDefaultConfig().setInstrumentation(null);
+        }
+    }
+
+    @Test
+    void takeReleasesConnection() throws InterruptedException {
+        TestDatabase.insertRows(TestDatabase.primary(), ReactorGlobalConfig.DEFAULT_PREFETCH * 4, "user-");
+        AccountService service = new AccountService();
+        long cancelled = ReactorStatistics.getCancelledCursors();
+
+        // 次数超过连接池大小，取消后没有归还连接时会因为借不到连接而超时
+        for (int i = 0; i < TestDatabase.POOL_SIZE * 3; i++) {
+            assertEquals(5, service.list().take(5).collectList().block(TIMEOUT).size());
+        }
+
+        assertEquals(0, TestDatabase.awaitNoActiveConnections(TestDatabase.primary(), TIMEOUT));
+        assertEquals(0L, ReactorStatistics.getOpenCursors());
+        assertEquals(cancelled + TestDatabase.POOL_SIZE * 3, ReactorStatistics.getCancelledCursors());
+    }
+
+    @Test
+    void nestedCallsInsideStreamDoNotStarveSmallPool() {
+        // 行数需超过预取数量，读取线程才会挂起等待需求
+        int rows = ReactorGlobalConfig.DEFAULT_PREFETCH * 2;
+        TestDatabase.insertRows(TestDatabase.primary(), rows, "user-");
+        // 只有一个线程：游标读取若占用该线程，flatMap 中的 getById 将永远得不到执行
+        Scheduler scheduler = JdbcSchedulers.newBounded(1, 100);
+        try {
+            AccountService service = new AccountService(scheduler);
+            List<Account> accounts = service.list()
+                    .flatMap(account -> service.getById(account.getId()), 4)
+                    .collectList()
+                    .block(TIMEOUT);
+
+            assertEquals(rows, accounts.size());
+        } finally {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.mybatis.flex.reactor.core.cache;
+
+import com.mybatis.flex.reactor.core.support.Account;
+import com.mybatis.flex.reactor.core.support.AccountService;
+import com.mybatis.flex.reactor.core.support.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 写入结果到达订阅者时缓存必须已经失效：在写入的 onNext 中立即读取不能读到旧值
+ *
+ * @author 林钟一六
+ */
+class CachingReactorServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final CachingReactorService<Account> service = new CachingReactorService<>(new AccountService(), 100, null);
+
+    @BeforeAll
+    static void start() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void reset() {
+        TestDatabase.reset();
+        TestDatabase.insertRows(TestDatabase.primary(), 1, "old-");
+        service.invalidateAll();
+    }
+
+    private String cachedUserName() {
+        String userName = service.getById(1L).map(Account::getUserName).block(TIMEOUT);
+        // 第二次读取命中缓存，保证之后的读取在没有失效时会读到旧值
+        assertEquals(userName, service.getById(1L).map(Account::getUserName).block(TIMEOUT));
+        return userName;
+    }
+
+    @Test
+    void updateByIdInvalidatesBeforeResult() {
+        assertEquals("old-1", cachedUserName());
+        long hits = service.getIdCache().getStats().getHitCount();
+        Account account = new Account("new", 1);
+        account.setId(1L);
+
+        String userName = service.updateById(account)
+                .flatMap(updated -> service.getById(1L))
+                .map(Account::getUserName)
+                .block(TIMEOUT);
+
+        assertEquals("new", userName);
+        assertEquals(hits, service.getIdCache().getStats().getHitCount());
+    }
+
+    @Test
+    void removeByIdInvalidatesBeforeResult() {
+        assertEquals("old-1", cachedUserName());
+
+        Boolean found = service.removeById(1L)
+                .flatMap(removed -> service.getById(1L).hasElement())
+                .block(TIMEOUT);
+
+        assertFalse(found);
+    }
+
+    @Test
+    void saveInvalidatesQueriesBeforeResult() {
+        assertEquals(1L, service.count().block(TIMEOUT));
+        assertEquals(1L, service.count().block(TIMEOUT));
+
+        Long count = service.save(new Account("new", 1))
+                .flatMap(saved -> service.count())
+                .block(TIMEOUT);
+
+        assertEquals(2L, count);
+    }
+}
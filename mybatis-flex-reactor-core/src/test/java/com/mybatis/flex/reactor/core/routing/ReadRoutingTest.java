@@ -0,0 +1,96 @@
+package com.mybatis.flex.reactor.core.routing;
+
+import com.mybatis.flex.reactor.core.session.ReactorTx;
+import com.mybatis.flex.reactor.core.support.Account;
+import com.mybatis.flex.reactor.core.support.AccountService;
+import com.mybatis.flex.reactor.core.support.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author 林钟一六
+ */
+class ReadRoutingTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int ROWS = 3;
+
+    /**
+     * 读操作路由到副本的 Service
+     */
+    private final AccountService service = new AccountService() {
+        @Override
+        public String getReadDataSourceKey() {
+            return TestDatabase.REPLICA;
+        }
+    };
+
+    @BeforeAll
+    static void start() {
+        TestDatabase.start();
+    }
+
+    /**
+     * 主库与副本写入 id 相同、用户名不同的数据，通过用户名区分读到的是哪个数据源
+     */
+    @BeforeEach
+    void reset() {
+        TestDatabase.reset();
+        TestDatabase.insertRows(TestDatabase.primary(), ROWS, "primary-");
+        TestDatabase.insertRows(TestDatabase.replica(), ROWS, "replica-");
+    }
+
+    private static Mono<String> userName(Mono<Account> account) {
+        return account.map(Account::getUserName);
+    }
+
+    @Test
+    void readsGoToReplica() {
+        List<String> names = service.list().map(Account::getUserName).collectList().block(TIMEOUT);
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-3"), names);
+        assertEquals("replica-2", userName(service.getById(2L)).block(TIMEOUT));
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        service.save(new Account("new", 1)).block(TIMEOUT);
+
+        assertEquals(ROWS + 1, TestDatabase.count(TestDatabase.primary()));
+        assertEquals(ROWS, TestDatabase.count(TestDatabase.replica()));
+    }
+
+    @Test
+    void readYourWritesSwitchesToPrimaryAfterWrite() {
+        String names = userName(service.getById(1L))
+                .flatMap(before -> service.save(new Account("new", 1))
+                        .then(userName(service.getById(1L)))
+                        .map(after -> before + "," + after))
+                .contextWrite(ReadRouting.readYourWrites())
+                .block(TIMEOUT);
+
+        assertEquals("replica-1,primary-1", names);
+    }
+
+    @Test
+    void readsInSessionStayOnPrimary() {
+        assertEquals("primary-1", service.inSession(userName(service.getById(1L))).block(TIMEOUT));
+        assertEquals(List.of("primary-1", "primary-2", "primary-3"),
+                service.inSession(service.list().map(Account::getUserName)).collectList().block(TIMEOUT));
+    }
+
+    @Test
+    void readsInTransactionStayOnPrimary() {
+        assertEquals("primary-1", ReactorTx.inTransaction(userName(service.getById(1L))).block(TIMEOUT));
+        assertEquals(List.of("primary-1", "primary-2", "primary-3"),
+                ReactorTx.inTransaction(service.list().map(Account::getUserName)).collectList().block(TIMEOUT));
+    }
+}
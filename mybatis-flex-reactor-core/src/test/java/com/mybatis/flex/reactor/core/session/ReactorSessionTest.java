@@ -0,0 +1,83 @@
+package com.mybatis.flex.reactor.core.session;
+
+import com.mybatis.flex.reactor.core.support.Account;
+import com.mybatis.flex.reactor.core.support.AccountService;
+import com.mybatis.flex.reactor.core.support.TestDatabase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author 林钟一六
+ */
+class ReactorSessionTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AccountService service = new AccountService();
+
+    @BeforeAll
+    static void start() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void reset() {
+        TestDatabase.reset();
+    }
+
+    /**
+     * 直接抛出异常的任务
+     */
+    private static Mono<Void> failingTask(ReactorSession session) {
+        return Mono.create(sink -> session.execute(() -> {
+            throw new IllegalStateException("boom");
+        }, sink::error));
+    }
+
+    @Test
+    void failingTaskDoesNotStopSessionThread() {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Mono<Long> work = Mono.deferContextual(context -> {
+            ReactorSession session = ReactorSession.current(context);
+            return failingTask(session)
+                    .doOnError(failure::set)
+                    .onErrorResume(e -> Mono.empty())
+                    .then(service.save(new Account("user", 1)))
+                    .then(service.count());
+        });
+
+        assertEquals(1L, service.inSession(work).block(TIMEOUT));
+        assertInstanceOf(IllegalStateException.class, failure.get());
+        assertEquals(1L, TestDatabase.count(TestDatabase.primary()));
+    }
+
+    @Test
+    void failingTaskErrorRollsBackSession() {
+        Mono<Void> work = Mono.deferContextual(context -> service.save(new Account("user", 1))
+                .then(failingTask(ReactorSession.current(context))));
+
+        assertThrows(IllegalStateException.class, () -> service.inSession(work).block(TIMEOUT));
+        assertEquals(0L, TestDatabase.count(TestDatabase.primary()));
+    }
+
+    @Test
+    void tasksSubmittedAfterSessionEndAreRejected() {
+        AtomicReference<ReactorSession> captured = new AtomicReference<>();
+        Mono<Long> work = Mono.deferContextual(context -> {
+            captured.set(ReactorSession.current(context));
+            return service.count();
+        });
+        service.inSession(work).block(TIMEOUT);
+
+        assertThrows(IllegalStateException.class, () -> captured.get().submit(() -> 1).block(TIMEOUT));
+    }
+}
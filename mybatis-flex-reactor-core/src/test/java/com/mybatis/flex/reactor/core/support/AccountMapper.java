@@ -0,0 +1,6 @@
+package com.mybatis.flex.reactor.core.support;
+
+import com.mybatisflex.core.BaseMapper;
+
+public interface AccountMapper extends BaseMapper<Account> {
+}
@@ -0,0 +1,50 @@
+package com.mybatis.flex.reactor.core.support;
+
+import com.mybatis.flex.reactor.core.ReactorService;
+import com.mybatisflex.core.BaseMapper;
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.mybatisflex.core.service.IService;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * 测试使用的 ReactorService，可以指定独立的调度器与游标调度器
+ */
+public class AccountService implements ReactorService<Account> {
+
+    private final Scheduler scheduler;
+
+    private final Scheduler cursorScheduler;
+
+    public AccountService() {
+        this(null);
+    }
+
+    public AccountService(Scheduler scheduler) {
+        this(scheduler, null);
+    }
+
+    public AccountService(Scheduler scheduler, Scheduler cursorScheduler) {
+        this.scheduler = scheduler;
+        this.cursorScheduler = cursorScheduler;
+    }
+
+    @Override
+    public BaseMapper<Account> getMapper() {
+        return MybatisFlexBootstrap.getInstance().getMapper(AccountMapper.class);
+    }
+
+    @Override
+    public IService<Account> getBlockService() {
+        return this::getMapper;
+    }
+
+    @Override
+    public Scheduler getScheduler() {
+        return scheduler != null ? scheduler : ReactorService.super.getScheduler();
+    }
+
+    @Override
+    public Scheduler getCursorScheduler() {
+        return cursorScheduler != null ? cursorScheduler : ReactorService.super.getCursorScheduler();
+    }
+}
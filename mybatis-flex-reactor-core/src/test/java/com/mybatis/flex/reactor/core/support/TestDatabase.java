@@ -0,0 +1,151 @@
+package com.mybatis.flex.reactor.core.support;
+
+import com.mybatisflex.core.MybatisFlexBootstrap;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * 测试使用的内嵌 H2 数据库，包含一个主库和一个只读副本
+ * <p>
+ * MybatisFlexBootstrap 在同一个 JVM 中只能启动一次，所有测试共享同一组数据源，每个测试开始前调用 {@link #reset()} 清空数据
+ */
+public final class TestDatabase {
+
+    /**
+     * 主库数据源 key，同时也是默认数据源
+     */
+    public static final String PRIMARY = "primary";
+
+    /**
+     * 只读副本数据源 key
+     */
+    public static final String REPLICA = "replica";
+
+    /**
+     * 每个数据源的连接池大小
+     */
+    public static final int POOL_SIZE = 8;
+
+    private static HikariDataSource primary;
+
+    private static HikariDataSource replica;
+
+    private TestDatabase() {
+    }
+
+    /**
+     * 初始化数据库，重复调用不会重复初始化
+     */
+    public static synchronized void start() {
+        if (primary != null) {
+            return;
+        }
+        try {
+            primary = create(PRIMARY);
+            replica = create(REPLICA);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        MybatisFlexBootstrap.getInstance()
+                .setDataSource(PRIMARY, primary)
+                .addDataSource(REPLICA, replica)
+                .addMapper(AccountMapper.class)
+                .start();
+    }
+
+    public static HikariDataSource primary() {
+        return primary;
+    }
+
+    public static HikariDataSource replica() {
+        return replica;
+    }
+
+    /**
+     * 清空主库和副本的数据
+     */
+    public static void reset() {
+        execute(primary, "TRUNCATE TABLE tb_account RESTART IDENTITY");
+        execute(replica, "TRUNCATE TABLE tb_account RESTART IDENTITY");
+    }
+
+    /**
+     * 绕过 flex 直接写入数据，用户名依次为 prefix + 1 ... prefix + rows
+     */
+    public static void insertRows(HikariDataSource dataSource, int rows, String prefix) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO tb_account (user_name, age) VALUES (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                statement.setString(1, prefix + i);
+                statement.setInt(2, i % 100);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 绕过 flex 直接统计数据行数
+     */
+    public static long count(HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM tb_account")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 当前被借出的连接数
+     */
+    public static int activeConnections(HikariDataSource dataSource) {
+        return dataSource.getHikariPoolMXBean().getActiveConnections();
+    }
+
+    /**
+     * 等待所有连接归还（取消后游标在读取线程上异步关闭）
+     *
+     * @return 超时时仍被借出的连接数
+     */
+    public static int awaitNoActiveConnections(HikariDataSource dataSource, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int active;
+        while ((active = activeConnections(dataSource)) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return active;
+    }
+
+    private static HikariDataSource create(String name) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPoolName(name);
+        config.setMaximumPoolSize(POOL_SIZE);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tb_account (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_name VARCHAR(100), age INT)");
+        }
+        return dataSource;
+    }
+
+    private static void execute(HikariDataSource dataSource, String sql) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
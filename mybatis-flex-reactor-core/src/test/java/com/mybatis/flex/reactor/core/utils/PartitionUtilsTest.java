@@ -0,0 +1,63 @@
+package com.mybatis.flex.reactor.core.utils;
+
+import com.mybatisflex.core.query.QueryColumn;
+import com.mybatisflex.core.query.QueryWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author 林钟一六
+ */
+class PartitionUtilsTest {
+
+    private static final QueryColumn ID = new QueryColumn("id");
+    private static final QueryColumn STATUS = new QueryColumn("status");
+    private static final QueryColumn DELETED = new QueryColumn("deleted");
+
+    /**
+     * 顶层包含 or 的查询
+     */
+    private static QueryWrapper orQuery() {
+        return QueryWrapper.create().from("account").where(STATUS.eq(1)).or(DELETED.eq(0));
+    }
+
+    @Test
+    void bracketWhereKeepsOrBranchesTogether() {
+        QueryWrapper query = orQuery();
+        String original = query.toSQL();
+
+        QueryWrapper bracketed = PartitionUtils.bracketWhere(query).and(ID.gt(10));
+
+        assertEquals("SELECT * FROM `account` WHERE (`status` = 1 OR `deleted` = 0) AND `id` > 10", bracketed.toSQL());
+        assertEquals(original, query.toSQL());
+    }
+
+    @Test
+    void bracketWhereWithoutCondition() {
+        QueryWrapper bracketed = PartitionUtils.bracketWhere(QueryWrapper.create().from("account")).and(ID.gt(10));
+
+        assertEquals("SELECT * FROM `account` WHERE `id` > 10", bracketed.toSQL());
+    }
+
+    @Test
+    void splitQueryAppliesRangeToEveryOrBranch() {
+        List<QueryWrapper> ranges = PartitionUtils.splitQuery(orQuery(), ID, Arrays.asList(10L, 20L), true);
+
+        assertEquals(3, ranges.size());
+        assertEquals("SELECT * FROM `account` WHERE (`status` = 1 OR `deleted` = 0) AND `id` < 10 ORDER BY `id` ASC",
+                ranges.get(0).toSQL());
+        assertEquals("SELECT * FROM `account` WHERE (`status` = 1 OR `deleted` = 0) AND `id` >= 10 AND `id` < 20 ORDER BY `id` ASC",
+                ranges.get(1).toSQL());
+        assertEquals("SELECT * FROM `account` WHERE (`status` = 1 OR `deleted` = 0) AND `id` >= 20 ORDER BY `id` ASC",
+                ranges.get(2).toSQL());
+    }
+
+    @Test
+    void splitRangeIsEven() {
+        assertEquals(Arrays.asList(25L, 50L, 75L), PartitionUtils.splitRange(0, 99, 4));
+    }
+}
@@ -0,0 +1,98 @@
+package com.mybatis.flex.reactor.core.writer;
+
+import com.mybatis.flex.reactor.core.support.Account;
+import com.mybatis.flex.reactor.core.support.AccountService;
+import com.mybatis.flex.reactor.core.support.TestDatabase;
+import com.mybatis.flex.reactor.core.wrapper.UpdateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 林钟一六
+ */
+class WriteBehindSinkTest {
+
+    @BeforeAll
+    static void start() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void reset() {
+        TestDatabase.reset();
+    }
+
+    @Test
+    void closeWritesQueuedData() {
+        int rows = 250;
+        // 刷新间隔足够长，数据只能通过攒满一批或 close 时写入
+        WriteBehindSink<Account> sink = WriteBehindSink.builder(new AccountService())
+                .batchSize(100)
+                .flushInterval(Duration.ofMinutes(10))
+                .queueCapacity(rows)
+                .build();
+        for (int i = 0; i < rows; i++) {
+            assertTrue(sink.offer(new Account("user-" + i, i)));
+        }
+
+        sink.close();
+
+        assertTrue(sink.isClosed());
+        assertEquals(0, sink.getQueueSize());
+        assertEquals(rows, sink.getWrittenCount());
+        assertEquals(rows, TestDatabase.count(TestDatabase.primary()));
+    }
+
+    @Test
+    void closeDoesNotWaitForeverForBlockedOffer() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        // 写入永远不会完成，BLOCK 策略下队列满后 offer 会一直阻塞并持有读锁
+        AccountService stuck = new AccountService() {
+            @Override
+            public Flux<UpdateResult<Account>> saveBatch(Collection<Account> entities, boolean ignoreNulls, int batchSize) {
+                writing.countDown();
+                return Flux.never();
+            }
+        };
+        WriteBehindSink<Account> sink = WriteBehindSink.builder(stuck)
+                .batchSize(1)
+                .queueCapacity(1)
+                .overflowStrategy(OverflowStrategy.BLOCK)
+                .shutdownTimeout(Duration.ofMillis(200))
+                .build();
+        sink.offer(new Account("writing", 1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        sink.offer(new Account("queued", 2));
+        Thread producer = new Thread(() -> {
+            try {
+                sink.offer(new Account("blocked", 3));
+            } catch (RuntimeException ignored) {
+                // 测试结束时被中断
+            }
+        });
+        producer.start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (producer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IllegalStateException.class, sink::close));
+            assertTrue(sink.isClosed());
+        } finally {
+            producer.interrupt();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mybatis.flex.reactor.spring;
 
 import com.mybatis.flex.reactor.core.ReactorService;
+import com.mybatis.flex.reactor.core.loader.IdBatchLoader;
 import com.mybatisflex.core.BaseMapper;
 import com.mybatisflex.core.service.IService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +26,11 @@ public class ReactorServiceImpl<Mapper extends BaseMapper<Entity>, Entity> imple
     @Autowired(required = false)
     protected IService<Entity> blockService;
 
+    /**
+     * 合并根据主键查询请求的加载器（首次使用时创建）
+     */
+    private volatile IdBatchLoader<Entity> idBatchLoader;
+
     @Override
     public BaseMapper<Entity> getMapper() {
         return mapper;
@@ -37,4 +43,16 @@ public class ReactorServiceImpl<Mapper extends BaseMapper<Entity>, Entity> imple
         }
         return blockService;
     }
+
+    @Override
+    public IdBatchLoader<Entity> getIdBatchLoader() {
+        if (idBatchLoader == null) {
+            synchronized (this) {
+                if (idBatchLoader == null) {
+                    idBatchLoader = new IdBatchLoader<>(this);
+                }
+            }
+        }
+        return idBatchLoader;
+    }
 }
@@ -4,3 +4,4 @@ plugins {
 rootProject.name = "mybatis-flex-reactor"
 include("mybatis-flex-reactor-core")
 include("mybatis-flex-reactor-spring")
+include("mybatis-flex-reactor-benchmarks")